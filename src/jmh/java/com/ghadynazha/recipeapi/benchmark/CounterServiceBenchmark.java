@@ -0,0 +1,127 @@
+package com.ghadynazha.recipeapi.benchmark;
+
+import com.ghadynazha.recipeapi.model.Counter;
+import com.ghadynazha.recipeapi.service.CounterService;
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoDatabase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoExceptionTranslator;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Benchmarks {@link CounterService#getNextSequence} (IDs handed out from blocks reserved with
+ * one {@code $inc}) against one find-and-modify per ID, from several threads at once.
+ *
+ * The counter document lives in memory and each find-and-modify waits {@code roundTripMicros}
+ * to stand in for the database round trip, so the comparison runs without a MongoDB server.
+ *
+ * Author: Ghady Nazha
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class CounterServiceBenchmark {
+
+    @Param({"0", "200"})
+    public long roundTripMicros;
+
+    @Param({"50"})
+    public int blockSize;
+
+    private MongoTemplate mongoTemplate;
+    private CounterService counterService;
+
+    @Setup
+    public void setup() {
+        mongoTemplate = new InMemoryCounterTemplate(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+        counterService = new CounterService(mongoTemplate, blockSize, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public int blockAllocation() {
+        return counterService.getNextSequence("recipe");
+    }
+
+    @Benchmark
+    public int findAndModifyPerId() {
+        return mongoTemplate.findAndModify(
+                query(where("_id").is("recipe")),
+                new Update().inc("seq", 1),
+                FindAndModifyOptions.options().returnNew(true).upsert(true),
+                Counter.class).getSeq();
+    }
+
+    /**
+     * Template whose find-and-modify increments an in-memory counter after a simulated round trip.
+     */
+    private static final class InMemoryCounterTemplate extends MongoTemplate {
+        private final AtomicInteger seq = new AtomicInteger();
+        private final long roundTripNanos;
+
+        private InMemoryCounterTemplate(long roundTripNanos) {
+            super(new NoDatabaseFactory());
+            this.roundTripNanos = roundTripNanos;
+        }
+
+        @Override
+        public <T> T findAndModify(Query query, UpdateDefinition update, FindAndModifyOptions options,
+                                   Class<T> entityClass) {
+            if (roundTripNanos > 0) LockSupport.parkNanos(roundTripNanos);
+            Number inc = (Number) update.getUpdateObject().get("$inc", Document.class).get("seq");
+            int value = seq.addAndGet(inc.intValue());
+            return entityClass.cast(new Counter(query.getQueryObject().getString("_id"), value));
+        }
+    }
+
+    /**
+     * Factory for a template that never talks to a database; only the exception translator is used.
+     */
+    private static final class NoDatabaseFactory implements MongoDatabaseFactory {
+        private final PersistenceExceptionTranslator translator = new MongoExceptionTranslator();
+
+        @Override
+        public MongoDatabase getMongoDatabase() {
+            throw new UnsupportedOperationException("No database in this benchmark");
+        }
+
+        @Override
+        public MongoDatabase getMongoDatabase(String dbName) {
+            throw new UnsupportedOperationException("No database in this benchmark");
+        }
+
+        @Override
+        public PersistenceExceptionTranslator getExceptionTranslator() {
+            return translator;
+        }
+
+        @Override
+        public ClientSession getSession(ClientSessionOptions options) {
+            throw new UnsupportedOperationException("No database in this benchmark");
+        }
+
+        @Override
+        public MongoDatabaseFactory withSession(ClientSession session) {
+            throw new UnsupportedOperationException("No database in this benchmark");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.ghadynazha.recipeapi.benchmark;
+
+import com.ghadynazha.recipeapi.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks JWT generation and verification in {@link JwtUtil}.
+ * {@code verifyUncached} is the cost of one full HMAC verification; {@code verifyCached}
+ * is the steady-state cost for a token that has been seen before.
+ *
+ * Author: Ghady Nazha
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtil = new JwtUtil(10_000, new SimpleMeterRegistry());
+        parser = Jwts.parserBuilder().setSigningKey(jwtUtil.getKey()).build();
+        token = jwtUtil.generateToken("bench@example.com", "CLIENT");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("bench@example.com", "CLIENT");
+    }
+
+    @Benchmark
+    public Claims verifyUncached() {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Claims verifyCached() {
+        return jwtUtil.verify(token);
+    }
+}
@@ -0,0 +1,375 @@
+package com.ghadynazha.recipeapi.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghadynazha.recipeapi.model.BulkItemResult;
+import com.ghadynazha.recipeapi.model.BulkResult;
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.service.RecipeBulkService;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load harness that compares running instances of the API over HTTP. Unlike the JMH
+ * benchmarks it needs MongoDB and the application itself, so it is run by hand:
+ *
+ * <pre>
+ * java -jar app.jar --app.rate-limit.enabled=false
+ * java -jar app.jar --spring.profiles.active=virtual --app.rate-limit.enabled=false \
+ *      --server.port=8090 --management.server.port=8091
+ * mvn -Pjmh -DskipTests compile exec:java -Dexec.mainClass=com.ghadynazha.recipeapi.benchmark.LoadComparison \
+ *     -Dexec.args="requests platform=http://localhost:8080,http://localhost:8081 virtual=http://localhost:8090,http://localhost:8091"
+ * </pre>
+ *
+ * {@code requests}: {@code load.concurrency} closed-loop clients call {@code load.path} on each
+ * target for {@code load.duration} after a {@code load.warmup}, and the harness reports throughput,
+ * p50/p99/max latency, and the peak number of requests the server was handling at once. The peak is
+ * sampled from {@code http_server_requests_active} on the target's management port (the optional
+ * second URL). With the platform-thread pool it levels off at {@code server.tomcat.threads.max}.
+ *
+ * {@code bulk}: creates {@code load.recipes} recipes on each target once with one
+ * {@code POST /api/recipes} per recipe and once with {@code POST /api/recipes/bulk} batches of
+ * {@code load.batch}, both from {@code load.writers} concurrent clients, and reports recipes/sec
+ * for each path. It signs up a throwaway user for the bulk token and deletes the recipes afterwards:
+ *
+ * <pre>
+ * mvn -Pjmh -DskipTests compile exec:java -Dexec.mainClass=com.ghadynazha.recipeapi.benchmark.LoadComparison \
+ *     -Dexec.args="bulk platform=http://localhost:8080"
+ * </pre>
+ *
+ * Options are system properties (e.g. {@code -Dload.concurrency=2000}).
+ *
+ * Author: Ghady Nazha
+ */
+public class LoadComparison {
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 1000);
+    private static final Duration DURATION = Duration.parse("PT" + System.getProperty("load.duration", "30s"));
+    private static final Duration WARMUP = Duration.parse("PT" + System.getProperty("load.warmup", "5s"));
+    private static final String PATH = System.getProperty("load.path", "/api/recipes/paged?size=20");
+    private static final int RECIPES = Integer.getInteger("load.recipes", 5000);
+    private static final int BATCH = Integer.getInteger("load.batch", 500);
+    private static final int WRITERS = Integer.getInteger("load.writers", 16);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    /**
+     * An instance under test: its API base URL and, optionally, its management base URL.
+     */
+    record Target(String name, String api, String management) {
+        static Target parse(String arg) {
+            String[] nameAndUrls = arg.split("=", 2);
+            if (nameAndUrls.length != 2) {
+                throw new IllegalArgumentException("Targets are given as name=apiUrl[,managementUrl]: " + arg);
+            }
+            String[] urls = nameAndUrls[1].split(",");
+            return new Target(nameAndUrls[0], urls[0], urls.length > 1 ? urls[1] : null);
+        }
+    }
+
+    /**
+     * Outcome of one load run against a target.
+     */
+    record RequestsResult(long ok, long failed, double perSecond, long p50Micros, long p99Micros,
+                          long maxMicros, int peakInFlight) {}
+
+    /**
+     * Outcome of creating recipes through one write path.
+     */
+    record WriteResult(int created, int failed, double seconds) {
+        double perSecond() {
+            return created / seconds;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: LoadComparison requests|bulk name=apiUrl[,managementUrl] ...");
+            System.exit(2);
+        }
+        List<Target> targets = Arrays.stream(args).skip(1).map(Target::parse).toList();
+        LoadComparison harness = new LoadComparison();
+        switch (args[0]) {
+            case "requests" -> harness.compareRequests(targets);
+            case "bulk" -> harness.compareBulk(targets);
+            default -> {
+                System.err.println("Unknown mode: " + args[0]);
+                System.exit(2);
+            }
+        }
+    }
+
+    private void compareRequests(List<Target> targets) throws Exception {
+        Map<String, RequestsResult> results = new LinkedHashMap<>();
+        for (Target target : targets) {
+            System.out.printf("%s: warming up for %ss%n", target.name(), WARMUP.toSeconds());
+            runRequests(target, WARMUP);
+            System.out.printf("%s: %d clients on %s for %ss%n", target.name(), CONCURRENCY, PATH, DURATION.toSeconds());
+            results.put(target.name(), runRequests(target, DURATION));
+        }
+
+        System.out.printf("%n%-12s %10s %8s %10s %10s %10s %10s %12s%n",
+                "target", "ok", "failed", "req/s", "p50 ms", "p99 ms", "max ms", "peak active");
+        results.forEach((name, r) -> System.out.printf("%-12s %10d %8d %10.0f %10.1f %10.1f %10.1f %12s%n",
+                name, r.ok(), r.failed(), r.perSecond(), r.p50Micros() / 1000.0, r.p99Micros() / 1000.0,
+                r.maxMicros() / 1000.0, r.peakInFlight() < 0 ? "n/a" : r.peakInFlight()));
+    }
+
+    /**
+     * Runs closed-loop clients against one target until the duration elapses.
+     */
+    private RequestsResult runRequests(Target target, Duration duration) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(target.api() + PATH))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger(target.management() == null ? -1 : 0);
+
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (running.get() && target.management() != null) {
+                peak.accumulateAndGet(activeRequests(target), Math::max);
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        long start = System.nanoTime();
+        List<Future<long[]>> clients = new ArrayList<>();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENCY; i++) {
+                clients.add(pool.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (running.get()) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() / 100 != 2) {
+                                failed.incrementAndGet();
+                                continue;
+                            }
+                        } catch (IOException e) {
+                            failed.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+                        latencies[count++] = (System.nanoTime() - sent) / 1000;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+            Thread.sleep(duration.toMillis());
+            running.set(false);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        sampler.interrupt();
+
+        long[] all = clients.stream().map(LoadComparison::join).flatMapToLong(Arrays::stream).sorted().toArray();
+        if (all.length == 0) {
+            return new RequestsResult(0, failed.get(), 0, 0, 0, 0, peak.get());
+        }
+        return new RequestsResult(all.length, failed.get(), all.length / seconds,
+                percentile(all, 0.50), percentile(all, 0.99), all[all.length - 1], peak.get());
+    }
+
+    private void compareBulk(List<Target> targets) throws Exception {
+        Map<String, WriteResult> results = new LinkedHashMap<>();
+        for (Target target : targets) {
+            String token = login(target);
+            Queue<Integer> created = new ConcurrentLinkedQueue<>();
+            try {
+                System.out.printf("%s: %d single creates from %d clients%n", target.name(), RECIPES, WRITERS);
+                results.put(target.name() + " single", createOneByOne(target, created));
+                System.out.printf("%s: %d recipes in batches of %d from %d clients%n", target.name(), RECIPES, BATCH, WRITERS);
+                results.put(target.name() + " bulk", createInBatches(target, token, created));
+            } finally {
+                deleteAll(target, token, new ArrayList<>(created));
+            }
+        }
+
+        System.out.printf("%n%-20s %10s %8s %10s %12s%n", "target", "created", "failed", "seconds", "recipes/s");
+        results.forEach((name, r) -> System.out.printf("%-20s %10d %8d %10.2f %12.0f%n",
+                name, r.created(), r.failed(), r.seconds(), r.perSecond()));
+    }
+
+    /**
+     * Creates the recipes with one POST /api/recipes each.
+     */
+    private WriteResult createOneByOne(Target target, Queue<Integer> created) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        long start = System.nanoTime();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < WRITERS; w++) {
+                pool.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < RECIPES; i = next.getAndIncrement()) {
+                        HttpResponse<String> response = send(post(target.api() + "/api/recipes", null, recipe(i)));
+                        if (response != null && response.statusCode() / 100 == 2) {
+                            created.add(objectMapper.readValue(response.body(), Recipe.class).getId());
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return new WriteResult(RECIPES - failed.get(), failed.get(), seconds);
+    }
+
+    /**
+     * Creates the recipes with POST /api/recipes/bulk batches.
+     */
+    private WriteResult createInBatches(Target target, String token, Queue<Integer> created) throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        long start = System.nanoTime();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < WRITERS; w++) {
+                pool.submit(() -> {
+                    for (int from = next.getAndAdd(BATCH); from < RECIPES; from = next.getAndAdd(BATCH)) {
+                        List<Recipe> batch = new ArrayList<>();
+                        for (int i = from; i < Math.min(from + BATCH, RECIPES); i++) batch.add(recipe(i));
+                        HttpResponse<String> response = send(post(target.api() + "/api/recipes/bulk", token, batch));
+                        if (response == null || response.statusCode() / 100 != 2) {
+                            failed.addAndGet(batch.size());
+                            continue;
+                        }
+                        BulkResult result = objectMapper.readValue(response.body(), BulkResult.class);
+                        ok.addAndGet(result.getSucceeded());
+                        failed.addAndGet(result.getFailed());
+                        result.getItems().stream().map(BulkItemResult::getId).filter(Objects::nonNull).forEach(created::add);
+                    }
+                    return null;
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return new WriteResult(ok.get(), failed.get(), seconds);
+    }
+
+    /**
+     * Removes the recipes this run created, in batches the bulk endpoint accepts.
+     */
+    private void deleteAll(Target target, String token, List<Integer> ids) throws Exception {
+        for (int from = 0; from < ids.size(); from += RecipeBulkService.MAX_ITEMS) {
+            List<Integer> batch = ids.subList(from, Math.min(from + RecipeBulkService.MAX_ITEMS, ids.size()));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(target.api() + "/api/recipes/bulk"))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + token)
+                    .method("DELETE", HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(batch)))
+                    .build();
+            HttpResponse<String> response = send(request);
+            if (response == null || response.statusCode() / 100 != 2) {
+                System.err.printf("%s: could not delete %d load-test recipes%n", target.name(), batch.size());
+            }
+        }
+    }
+
+    /**
+     * Signs up a throwaway user and returns a token for it.
+     */
+    private String login(Target target) throws Exception {
+        Map<String, String> user = Map.of("username", "load-" + System.nanoTime() + "@example.com", "password", "LoadTest1");
+        send(post(target.api() + "/api/auth/signup", null, user));
+        HttpResponse<String> response = send(post(target.api() + "/api/auth/login", null, user));
+        if (response == null || response.statusCode() != 200) {
+            throw new IllegalStateException(target.name() + ": login failed" + (response == null ? "" : ": " + response.body()));
+        }
+        JsonNode body = objectMapper.readTree(response.body());
+        return body.get("token").asText();
+    }
+
+    private static Recipe recipe(int i) {
+        return new Recipe(null, "Load test " + i, List.of("Salt", "Water"), "Boil the water.", 10, "Load test");
+    }
+
+    private HttpRequest post(String url, String token, Object body) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        if (token != null) builder.header("Authorization", "Bearer " + token);
+        return builder.build();
+    }
+
+    /**
+     * Sends a request, returning null if it could not be completed.
+     */
+    private HttpResponse<String> send(HttpRequest request) throws InterruptedException {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads how many requests the target is handling right now from its Prometheus scrape.
+     *
+     * @return the number of active requests, or 0 if the scrape fails
+     */
+    private int activeRequests(Target target) {
+        HttpRequest scrape = HttpRequest.newBuilder(URI.create(target.management() + "/actuator/prometheus"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        try {
+            String body = client.send(scrape, HttpResponse.BodyHandlers.ofString()).body();
+            double active = 0;
+            for (String line : body.split("\n")) {
+                if (line.startsWith("http_server_requests_active_seconds_active_count")) {
+                    active += Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+                }
+            }
+            return (int) active;
+        } catch (IOException | NumberFormatException e) {
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private static <T> T join(Future<T> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
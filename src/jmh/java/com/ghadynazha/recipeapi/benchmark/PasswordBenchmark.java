@@ -0,0 +1,33 @@
+package com.ghadynazha.recipeapi.benchmark;
+
+import com.ghadynazha.recipeapi.controller.AuthController;
+import com.ghadynazha.recipeapi.util.PasswordGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks password strength checking and secure password generation.
+ *
+ * Author: Ghady Nazha
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordBenchmark {
+
+    private final String password = "Sup3rSecretPassw0rd";
+
+    @Benchmark
+    public boolean isStrongPassword() {
+        return AuthController.isStrongPassword(password);
+    }
+
+    @Benchmark
+    public String generateSecurePassword() {
+        return PasswordGenerator.generateSecurePassword(16);
+    }
+}
@@ -0,0 +1,70 @@
+package com.ghadynazha.recipeapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.service.RecipeBodyCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares producing a single-recipe response body per request (Jackson, optionally gzip)
+ * with serving it from {@link RecipeBodyCache}. Run with the default GC profiler to see the
+ * allocation per request next to the time per request.
+ *
+ * Author: Ghady Nazha
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecipeBodyBenchmark {
+
+    private ObjectMapper mapper;
+    private RecipeBodyCache bodyCache;
+    private Recipe recipe;
+
+    @Setup
+    public void setup() {
+        mapper = new ObjectMapper();
+        bodyCache = new RecipeBodyCache(mapper, 32 * 1024 * 1024, 1024);
+
+        List<String> ingredients = new ArrayList<>();
+        for (int i = 0; i < 15; i++) ingredients.add("ingredient number " + i);
+        recipe = new Recipe(1, "Slow Roasted Lamb Shoulder", ingredients,
+                "Rub the lamb with garlic, rosemary and salt. ".repeat(30), 240, "Main");
+        recipe.setVersion(3L);
+        bodyCache.get(recipe);
+    }
+
+    @Benchmark
+    public byte[] serializePerRequest() throws Exception {
+        return mapper.writeValueAsBytes(recipe);
+    }
+
+    @Benchmark
+    public byte[] serializeAndGzipPerRequest() throws Exception {
+        byte[] json = mapper.writeValueAsBytes(recipe);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(json);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] cachedJson() {
+        return bodyCache.get(recipe).json();
+    }
+
+    @Benchmark
+    public byte[] cachedGzip() {
+        return bodyCache.get(recipe).gzip();
+    }
+}
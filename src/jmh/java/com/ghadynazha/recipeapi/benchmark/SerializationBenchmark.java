@@ -0,0 +1,58 @@
+package com.ghadynazha.recipeapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.model.RecipePage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks Jackson serialization of a single {@link Recipe} and of a 20-item {@link RecipePage}.
+ *
+ * Author: Ghady Nazha
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private ObjectMapper mapper;
+    private Recipe recipe;
+    private RecipePage page;
+
+    @Setup
+    public void setup() {
+        mapper = new ObjectMapper();
+        recipe = new Recipe(1, "Spaghetti Carbonara",
+                List.of("spaghetti", "eggs", "pecorino", "guanciale", "black pepper"),
+                "Cook the pasta. Fry the guanciale. Mix eggs and cheese, then toss everything together off the heat.",
+                20, "Italian");
+
+        List<Recipe> content = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            content.add(new Recipe(i, recipe.getTitle() + " " + i, recipe.getIngredients(),
+                    recipe.getInstructions(), recipe.getCookingTime(), recipe.getCategory()));
+        }
+        page = new RecipePage();
+        page.setContent(content);
+        page.setTotalElements(1000);
+        page.setTotalPages(50);
+        page.setNumber(0);
+    }
+
+    @Benchmark
+    public byte[] serializeRecipe() throws Exception {
+        return mapper.writeValueAsBytes(recipe);
+    }
+
+    @Benchmark
+    public byte[] serializeRecipePage() throws Exception {
+        return mapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,5 @@
+/**
+ * Contains JMH microbenchmarks for the API's hot paths.
+ * Built and run only with the "jmh" Maven profile.
+ */
+package com.ghadynazha.recipeapi.benchmark;
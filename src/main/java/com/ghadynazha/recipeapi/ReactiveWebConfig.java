@@ -0,0 +1,25 @@
+package com.ghadynazha.recipeapi;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * WebFlux configuration for the "reactive" profile.
+ *
+ * Controllers shared with the servlet stack (auth, admin, home) return plain values and
+ * call blocking repositories; WebFlux runs those handler methods on virtual threads so
+ * they never block the event loop. Handlers returning Mono/Flux stay on the event loop.
+ *
+ * Author: Ghady Nazha
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    @Override
+    public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+        configurer.setExecutor(new VirtualThreadTaskExecutor("blocking-handler-"));
+    }
+}
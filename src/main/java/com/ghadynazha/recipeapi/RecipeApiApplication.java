@@ -1,6 +1,7 @@
 package com.ghadynazha.recipeapi;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.env.Environment;
 import org.springframework.web.client.RestTemplate;
@@ -15,6 +16,7 @@ import org.springframework.beans.factory.annotation.Autowired;
  * Author: Ghady Nazha
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class RecipeApiApplication {
 
     /**
@@ -0,0 +1,92 @@
+package com.ghadynazha.recipeapi.controller;
+import com.ghadynazha.recipeapi.service.IndexService;
+import com.ghadynazha.recipeapi.service.RecipeBodyCache;
+import com.ghadynazha.recipeapi.service.RecipeCache;
+import com.ghadynazha.recipeapi.service.RecipeChangeFeed;
+import com.ghadynazha.recipeapi.service.RecipeImportService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * REST controller exposing operational information to administrators.
+ *
+ * Base URL: /api/admin
+ *
+ * Author: Ghady Nazha
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+    private final RecipeCache recipeCache;
+    private final RecipeBodyCache bodyCache;
+    private final IndexService indexService;
+    private final RecipeImportService importService;
+    private final RecipeChangeFeed changeFeed;
+
+    /**
+     * Constructs the AdminController with required dependencies.
+     *
+     * @param recipeCache the recipe read-through cache
+     * @param bodyCache the cache of encoded recipe responses
+     * @param indexService the service managing MongoDB indexes
+     * @param importService the service handling streaming imports
+     * @param changeFeed the service following writes made by other instances
+     */
+    public AdminController(RecipeCache recipeCache, RecipeBodyCache bodyCache, IndexService indexService,
+                           RecipeImportService importService, RecipeChangeFeed changeFeed) {
+        this.recipeCache = recipeCache;
+        this.bodyCache = bodyCache;
+        this.indexService = indexService;
+        this.importService = importService;
+        this.changeFeed = changeFeed;
+    }
+
+    /**
+     * Returns hit ratio, eviction count and load latency of the recipe cache,
+     * with the encoded-body cache statistics under "bodies".
+     *
+     * @return the cache statistics
+     */
+    @GetMapping("/cache-stats")
+    public ResponseEntity<?> getCacheStats() {
+        Map<String, Object> report = new LinkedHashMap<>(recipeCache.stats());
+        report.put("bodies", bodyCache.stats());
+        return ResponseEntity.ok(report);
+    }
+
+    /**
+     * Returns per-index access counts for the recipes, recipe_tombstones, users and counters collections,
+     * the server's collection-scan counters, and recent queries that scanned a collection
+     * (recorded only while the MongoDB profiler is enabled).
+     *
+     * @return the index usage report
+     */
+    @GetMapping("/index-stats")
+    public ResponseEntity<?> getIndexStats() {
+        return ResponseEntity.ok(indexService.report());
+    }
+
+    /**
+     * Returns the progress of every recipe import that is still running.
+     *
+     * @return one report per running import
+     */
+    @GetMapping("/imports")
+    public ResponseEntity<?> getImports() {
+        return ResponseEntity.ok(importService.running());
+    }
+
+    /**
+     * Returns how this instance follows recipe writes made by other instances
+     * (change stream or outbox), how far it has got, and how many changes it applied.
+     *
+     * @return the change feed status
+     */
+    @GetMapping("/change-feed")
+    public ResponseEntity<?> getChangeFeed() {
+        return ResponseEntity.ok(changeFeed.status());
+    }
+}
@@ -3,6 +3,8 @@ import com.ghadynazha.recipeapi.model.User;
 import com.ghadynazha.recipeapi.repository.UserRepository;
 import com.ghadynazha.recipeapi.security.JwtUtil;
 import com.ghadynazha.recipeapi.service.CounterService;
+import com.ghadynazha.recipeapi.service.UsernameFilter;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -23,6 +25,7 @@ public class AuthController {
     private final JwtUtil jwtUtil;
     private final UserRepository userRepo;
     private final CounterService counterService;
+    private final UsernameFilter usernameFilter;
 
     /**
      * Constructs the AuthController with required dependencies.
@@ -30,17 +33,23 @@ public class AuthController {
      * @param jwtUtil the utility class for generating JWT tokens
      * @param userRepo the repository for User persistence
      * @param counterService the service used for generating sequential user IDs
+     * @param usernameFilter the in-memory filter of taken usernames
      */
-    public AuthController(JwtUtil jwtUtil, UserRepository userRepo, CounterService counterService) {
+    public AuthController(JwtUtil jwtUtil, UserRepository userRepo, CounterService counterService,
+                          UsernameFilter usernameFilter) {
         this.jwtUtil = jwtUtil;
         this.userRepo = userRepo;
         this.counterService = counterService;
+        this.usernameFilter = usernameFilter;
     }
 
     /**
      * Registers a new user.
      * Automatically assigns "ADMIN" role if username is "admin@admin.com", otherwise defaults to "CLIENT".
      * Validates password strength and ensures username uniqueness.
+     * Uniqueness is enforced by the unique index on {@code username}: new usernames are
+     * inserted directly (one write), and only names the in-memory filter reports as
+     * possibly taken are looked up first.
      *
      * @param request a map containing "username", "password", and optionally "role"
      * @return a response with the registration result and generated user ID
@@ -64,7 +73,7 @@ public class AuthController {
             }
         }
 
-        if (userRepo.findByUsername(username).isPresent()) {
+        if (usernameFilter.mightBeTaken(username) && userRepo.findByUsername(username).isPresent()) {
             return ResponseEntity.badRequest().body("Username already exists");
         }
 
@@ -76,7 +85,13 @@ public class AuthController {
         String generatedId = "2025" + String.format("%03d", sequence);
 
         User newUser = new User(generatedId, username, password, role);
-        userRepo.save(newUser);
+        try {
+            userRepo.insert(newUser);
+        } catch (DuplicateKeyException e) {
+            usernameFilter.add(username);
+            return ResponseEntity.badRequest().body("Username already exists");
+        }
+        usernameFilter.add(username);
 
         return ResponseEntity.ok(Map.of(
                 "message", "User registered successfully",
@@ -141,7 +156,7 @@ public class AuthController {
      * @param password the password to validate
      * @return true if the password is strong, false otherwise
      */
-    private boolean isStrongPassword(String password) {
+    public static boolean isStrongPassword(String password) {
         if (password.length() < 8) return false;
 
         boolean hasUpper = false;
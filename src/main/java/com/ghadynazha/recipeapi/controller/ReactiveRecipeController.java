@@ -0,0 +1,327 @@
+package com.ghadynazha.recipeapi.controller;
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.repository.ReactiveRecipeRepository;
+import com.ghadynazha.recipeapi.service.CounterService;
+import com.ghadynazha.recipeapi.service.RecipeCache;
+import com.ghadynazha.recipeapi.service.RecipeIndexer;
+import com.ghadynazha.recipeapi.service.RecipeSearchIndex;
+import com.ghadynazha.recipeapi.util.ETags;
+import com.ghadynazha.recipeapi.util.RecipeFields;
+import com.ghadynazha.recipeapi.util.RecipePatch;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Non-blocking REST controller for Recipe entities, active with the "reactive" profile.
+ * Serves a subset of the {@link RecipeController} contract on WebFlux and reactive MongoDB:
+ * create, list, stream, paged, get, replace, patch, delete and search. The stream endpoint
+ * is a publisher that honors backpressure. Single recipes and lists carry ETags, list
+ * endpoints accept {@code fields}, and updates honor If-Match, as in {@link RecipeController}.
+ *
+ * Not available on this stack: bulk writes, import, export, cursor paging, facets, suggest
+ * and cook-with. Single recipes are serialized per request, without gzip bodies or
+ * version-only revalidation.
+ *
+ * Base URL: /api/recipes
+ *
+ * Author: Ghady Nazha
+ */
+@RestController
+@RequestMapping("/api/recipes")
+@Profile("reactive")
+public class ReactiveRecipeController {
+
+    private final ReactiveRecipeRepository recipeRepo;
+    private final CounterService counterService;
+    private final RecipeIndexer recipeIndexer;
+    private final RecipeSearchIndex searchIndex;
+    private final RecipeCache recipeCache;
+
+    /**
+     * Constructs a new ReactiveRecipeController with required dependencies.
+     *
+     * @param recipeRepo the reactive Recipe repository
+     * @param counterService the service used for generating auto-incremented IDs
+     * @param recipeIndexer the service that keeps in-memory indexes in sync with writes
+     * @param searchIndex the in-memory full-text index
+     * @param recipeCache the read-through cache for single-recipe reads
+     */
+    public ReactiveRecipeController(ReactiveRecipeRepository recipeRepo, CounterService counterService,
+                                    RecipeIndexer recipeIndexer, RecipeSearchIndex searchIndex,
+                                    RecipeCache recipeCache) {
+        this.recipeRepo = recipeRepo;
+        this.counterService = counterService;
+        this.recipeIndexer = recipeIndexer;
+        this.searchIndex = searchIndex;
+        this.recipeCache = recipeCache;
+    }
+
+    /**
+     * Creates a new Recipe with an auto-incremented ID and version 1.
+     * ID allocation may hit the database when a block is exhausted, so it runs off the event loop.
+     *
+     * @param recipe the Recipe object to be created
+     * @return the created Recipe
+     */
+    @PostMapping
+    public Mono<Recipe> createRecipe(@Valid @RequestBody Recipe recipe) {
+        return Mono.fromCallable(() -> counterService.getNextSequence("recipe"))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(id -> {
+                    recipe.setId(id);
+                    recipe.setVersion(1L);
+                    recipe.setModifiedAt(System.currentTimeMillis());
+                    return recipeRepo.save(recipe);
+                })
+                .doOnNext(recipeIndexer::saved);
+    }
+
+    /**
+     * Retrieves all recipes as a JSON array, optionally only some fields of each.
+     * The list is collected before it is written so that it can carry an ETag;
+     * use {@code /stream} to read large collections on demand.
+     *
+     * @param fields optional comma-separated fields to return, or "summary" (id, title, category, cookingTime)
+     * @return a list of all recipes with an ETag over their IDs and versions, or 400 Bad Request for unknown fields
+     */
+    @GetMapping
+    public Mono<ResponseEntity<?>> getAllRecipes(@RequestParam(required = false) String fields) {
+        Set<String> selected;
+        try {
+            selected = RecipeFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().body(e.getMessage()));
+        }
+        return list(recipeRepo.findAllWithFields(selected), selected);
+    }
+
+    /**
+     * Streams all recipes as NDJSON (default) or a JSON array, honoring client backpressure.
+     *
+     * @param format "ndjson" (default) or "json"
+     * @return the recipes with the matching content type
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<Flux<Recipe>> streamRecipes(@RequestParam(defaultValue = "ndjson") String format) {
+        boolean ndjson = !"json".equalsIgnoreCase(format);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? RecipeController.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(recipeRepo.findAll());
+    }
+
+    /**
+     * Retrieves a paginated list of recipes sorted by a specific field.
+     *
+     * @param page the page number (0-based)
+     * @param size the number of items per page
+     * @param sortBy the field to sort by: title (default), category, cookingTime or id
+     * @param fields optional comma-separated fields to return, or "summary"
+     * @return a Page object containing recipes with an ETag, or 400 Bad Request for unknown sort fields or fields
+     */
+    @GetMapping("/paged")
+    public Mono<ResponseEntity<?>> getPagedRecipes(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(defaultValue = "title") String sortBy,
+            @RequestParam(required = false) String fields
+    ) {
+        if (!RecipeController.SORT_FIELDS.contains(sortBy)) {
+            return Mono.just(ResponseEntity.badRequest().body("sortBy must be one of " + RecipeController.SORT_FIELDS));
+        }
+        Set<String> selected;
+        try {
+            selected = RecipeFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().body(e.getMessage()));
+        }
+        Pageable pageable = PageRequest.of(page, size, RecipeController.indexedSort(sortBy));
+        return recipeRepo.findAllWithFields(pageable, selected).collectList()
+                .zipWith(recipeRepo.count())
+                .<ResponseEntity<?>>map(t -> {
+                    Page<Recipe> result = new PageImpl<>(t.getT1(), pageable, t.getT2());
+                    return ResponseEntity.ok()
+                            .eTag(ETags.of(result.getContent(), result.getTotalElements(), selected))
+                            .body(selected == null ? result : result.map(r -> RecipeFields.select(r, selected)));
+                });
+    }
+
+    /**
+     * Retrieves a single recipe by its ID, served from the read-through cache when possible.
+     *
+     * @param id the ID of the recipe
+     * @return the Recipe object with its ETag if found (304 Not Modified if unchanged), otherwise 404 Not Found
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Recipe>> getRecipeById(@PathVariable Integer id) {
+        return Mono.fromFuture(() -> recipeCache.getAsync(id))
+                .map(recipe -> ResponseEntity.ok().eTag(ETags.of(recipe)).body(recipe))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Updates an existing recipe by ID with a single atomic update that also bumps its version.
+     * If an If-Match header is sent, the update only applies while the recipe is still at that version.
+     *
+     * @param id the ID of the recipe to update
+     * @param updated the updated Recipe object
+     * @param ifMatch optional ETag of the version being replaced
+     * @return the updated Recipe with its new ETag, 404 Not Found, or 412 Precondition Failed
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<?>> updateRecipe(@PathVariable Integer id, @Valid @RequestBody Recipe updated,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion;
+        try {
+            expectedVersion = ifMatch == null ? null : ETags.expectedVersion(ifMatch, id);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage()));
+        }
+
+        updated.setId(id);
+        return updateResult(id, recipeRepo.replaceIfVersion(updated, expectedVersion), expectedVersion);
+    }
+
+    /**
+     * Changes only the given fields of a recipe with a single atomic {@code $set} update.
+     *
+     * @param id the ID of the recipe to update
+     * @param changes the fields to change, by name
+     * @param ifMatch optional ETag of the version being modified
+     * @return the updated Recipe with its new ETag, 400 Bad Request, 404 Not Found, or 412 Precondition Failed
+     */
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<?>> patchRecipe(@PathVariable Integer id, @RequestBody Map<String, Object> changes,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Map<String, Object> validated;
+        try {
+            validated = RecipePatch.validate(changes);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().body(e.getMessage()));
+        }
+        Long expectedVersion;
+        try {
+            expectedVersion = ifMatch == null ? null : ETags.expectedVersion(ifMatch, id);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage()));
+        }
+        return updateResult(id, recipeRepo.patchIfVersion(id, validated, expectedVersion), expectedVersion);
+    }
+
+    /**
+     * Deletes a recipe by its ID with a single delete command and records a tombstone;
+     * the deleted count decides the status.
+     *
+     * @param id the ID of the recipe to delete
+     * @return HTTP 204 No Content if deleted, 404 Not Found otherwise
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteRecipe(@PathVariable Integer id) {
+        return recipeRepo.removeAndRecord(id)
+                .map(deleted -> {
+                    if (deleted == 0) return ResponseEntity.notFound().<Void>build();
+                    recipeIndexer.deleted(id);
+                    return ResponseEntity.noContent().<Void>build();
+                });
+    }
+
+    /**
+     * Turns the outcome of a single-recipe update into a response.
+     *
+     * @param id the ID of the recipe
+     * @param saved the updated recipe, or empty if the update matched nothing
+     * @param expectedVersion the version the update was conditional on, or null
+     * @return the updated Recipe with its ETag, 404 Not Found, or 412 Precondition Failed
+     */
+    private Mono<ResponseEntity<?>> updateResult(Integer id, Mono<Recipe> saved, Long expectedVersion) {
+        Mono<ResponseEntity<?>> failed = expectedVersion == null
+                ? Mono.just(ResponseEntity.notFound().build())
+                : recipeRepo.existsById(id).map(exists -> exists
+                        ? ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body("Recipe was modified by another request")
+                        : ResponseEntity.notFound().build());
+        return saved
+                .doOnNext(recipeIndexer::saved)
+                .<ResponseEntity<?>>map(recipe -> ResponseEntity.ok().eTag(ETags.of(recipe)).body(recipe))
+                .switchIfEmpty(failed);
+    }
+
+    /**
+     * Searches for recipes by free text, title or category.
+     *
+     * @param q optional free-text query matched against title, category, ingredients and instructions
+     * @param title optional title substring to search for
+     * @param category optional category substring to search for
+     * @param limit maximum number of ranked results for free-text queries
+     * @param fields optional comma-separated fields to return, or "summary"
+     * @param mode how free-text query terms match: "exact" (default) or "fuzzy"
+     * @return list of matching recipes, or all recipes if no filters are provided, with an ETag;
+     *         400 Bad Request for unknown fields or modes
+     */
+    @GetMapping("/search")
+    public Mono<ResponseEntity<?>> searchRecipes(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String title,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "exact") String mode
+    ) {
+        if (!RecipeController.SEARCH_MODES.contains(mode)) {
+            return Mono.just(ResponseEntity.badRequest().body("mode must be one of " + RecipeController.SEARCH_MODES));
+        }
+        Set<String> selected;
+        try {
+            selected = RecipeFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().body(e.getMessage()));
+        }
+
+        Flux<Recipe> results;
+        if (q != null) {
+            if (recipeIndexer.isReady()) {
+                int max = Math.min(Math.max(limit, 1), 100);
+                List<Integer> ids = "fuzzy".equals(mode) ? searchIndex.fuzzySearch(q, max) : searchIndex.search(q, max);
+                results = ids.isEmpty() ? Flux.empty() : recipeRepo.findAllByIdWithFields(ids, selected)
+                        .collectMap(Recipe::getId, Function.identity())
+                        .flatMapMany((Map<Integer, Recipe> byId) -> Flux.fromIterable(ids).mapNotNull(byId::get));
+            } else {
+                results = recipeRepo.findByTitleWithFields(q, selected);
+            }
+        } else if (title != null) {
+            results = recipeRepo.findByTitleWithFields(title, selected);
+        } else if (category != null) {
+            results = recipeRepo.findByCategoryWithFields(category, selected);
+        } else {
+            results = recipeRepo.findAllWithFields(selected);
+        }
+        return list(results, selected);
+    }
+
+    /**
+     * Collects a list response and tags it like {@link RecipeController} does.
+     *
+     * @param recipes the recipes in response order
+     * @param fields the selected fields, or null for whole recipes
+     * @return the shaped list with its ETag
+     */
+    private static Mono<ResponseEntity<?>> list(Flux<Recipe> recipes, Set<String> fields) {
+        return recipes.collectList()
+                .<ResponseEntity<?>>map(list -> ResponseEntity.ok().eTag(ETags.of(list, fields)).body(RecipeController.shape(list, fields)));
+    }
+}
@@ -1,20 +1,68 @@
 package com.ghadynazha.recipeapi.controller;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ghadynazha.recipeapi.model.BulkResult;
+import com.ghadynazha.recipeapi.model.IngredientMatch;
 import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.model.RecipeCursorPage;
 import com.ghadynazha.recipeapi.repository.RecipeRepository;
 import com.ghadynazha.recipeapi.service.CounterService;
+import com.ghadynazha.recipeapi.service.IngredientMatchIndex;
+import com.ghadynazha.recipeapi.service.RecipeBodyCache;
+import com.ghadynazha.recipeapi.service.RecipeBulkService;
+import com.ghadynazha.recipeapi.service.RecipeCache;
+import com.ghadynazha.recipeapi.service.RecipeFacetIndex;
+import com.ghadynazha.recipeapi.service.RecipeImportService;
+import com.ghadynazha.recipeapi.service.RecipeIndexer;
+import com.ghadynazha.recipeapi.service.RecipeSearchIndex;
+import com.ghadynazha.recipeapi.service.RecipeSuggestIndex;
+import com.ghadynazha.recipeapi.util.CsvWriter;
+import com.ghadynazha.recipeapi.util.CursorCodec;
+import com.ghadynazha.recipeapi.util.ETags;
+import com.ghadynazha.recipeapi.util.RecipeFields;
+import com.ghadynazha.recipeapi.util.RecipeCsv;
+import com.ghadynazha.recipeapi.util.RecipePatch;
 import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 /**
  * REST controller for handling CRUD operations on Recipe entities.
  * Provides endpoints for creating, retrieving, updating, deleting,
- * paginating, and searching recipes.
+ * paginating, and searching recipes. Every single-recipe write is one MongoDB operation.
+ *
+ * Single recipes and lists carry strong ETags (gzip bodies have their own); matching
+ * If-None-Match requests get 304 Not Modified without the body being serialized. Updates honor If-Match.
+ * List endpoints accept {@code fields} (e.g. {@code fields=summary}) to read and return
+ * only some fields of each recipe.
  *
  * Base URL: /api/recipes
  *
@@ -22,42 +70,234 @@ import java.util.List;
  */
 @RestController
 @RequestMapping("/api/recipes")
+@Profile("!reactive")
 public class RecipeController {
 
+    /**
+     * Media type for newline-delimited JSON, one recipe per line.
+     */
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    /**
+     * Media type for CSV imports and exports.
+     */
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+    /**
+     * Fields that paged and keyset listings can sort by; each is backed by a compound index
+     * with the ID (declared on {@link Recipe}), so sorting never falls back to an in-memory sort.
+     */
+    public static final Set<String> SORT_FIELDS = Set.of("title", "category", "cookingTime", "id");
+
+    /**
+     * Ways free-text searches can match terms: "exact" (default) or "fuzzy", which also
+     * matches indexed terms a few edits away from misspelled query terms.
+     */
+    public static final Set<String> SEARCH_MODES = Set.of("exact", "fuzzy");
+
     private final RecipeRepository recipeRepo;
     private final CounterService counterService;
+    private final ObjectMapper objectMapper;
+    private final RecipeIndexer recipeIndexer;
+    private final RecipeSearchIndex searchIndex;
+    private final IngredientMatchIndex ingredientIndex;
+    private final RecipeCache recipeCache;
+    private final RecipeBulkService bulkService;
+    private final RecipeBodyCache bodyCache;
+    private final RecipeFacetIndex facetIndex;
+    private final RecipeImportService importService;
+    private final RecipeSuggestIndex suggestIndex;
 
     /**
      * Constructs a new RecipeController with required dependencies.
      *
      * @param recipeRepo the Recipe repository
      * @param counterService the service used for generating auto-incremented IDs
+     * @param objectMapper the JSON mapper used for streamed responses
+     * @param recipeIndexer the service that keeps in-memory indexes in sync with writes
+     * @param searchIndex the in-memory full-text index
+     * @param ingredientIndex the in-memory ingredient bitmap index
+     * @param recipeCache the read-through cache for single-recipe reads
+     * @param bulkService the service handling bulk writes
+     * @param bodyCache the cache of encoded single-recipe responses
+     * @param facetIndex the in-memory facet counters
+     * @param importService the service handling streaming imports
+     * @param suggestIndex the in-memory autocomplete index
      */
-    public RecipeController(RecipeRepository recipeRepo, CounterService counterService) {
+    public RecipeController(RecipeRepository recipeRepo, CounterService counterService, ObjectMapper objectMapper,
+                            RecipeIndexer recipeIndexer, RecipeSearchIndex searchIndex,
+                            IngredientMatchIndex ingredientIndex, RecipeCache recipeCache,
+                            RecipeBulkService bulkService, RecipeBodyCache bodyCache,
+                            RecipeFacetIndex facetIndex, RecipeImportService importService,
+                            RecipeSuggestIndex suggestIndex) {
         this.recipeRepo = recipeRepo;
         this.counterService = counterService;
+        this.objectMapper = objectMapper;
+        this.recipeIndexer = recipeIndexer;
+        this.searchIndex = searchIndex;
+        this.ingredientIndex = ingredientIndex;
+        this.recipeCache = recipeCache;
+        this.bulkService = bulkService;
+        this.bodyCache = bodyCache;
+        this.facetIndex = facetIndex;
+        this.importService = importService;
+        this.suggestIndex = suggestIndex;
     }
 
     /**
-     * Creates a new Recipe with an auto-incremented ID.
+     * Creates a new Recipe with an auto-incremented ID and version 1.
      *
      * @param recipe the Recipe object to be created
-     * @return the created Recipe in the response
+     * @return the created Recipe in the response, with its ETag
      */
     @PostMapping
     public ResponseEntity<Recipe> createRecipe(@Valid @RequestBody Recipe recipe) {
         recipe.setId(counterService.getNextSequence("recipe"));
-        return ResponseEntity.ok(recipeRepo.save(recipe));
+        recipe.setVersion(1L);
+        recipe.setModifiedAt(System.currentTimeMillis());
+        Recipe saved = recipeRepo.save(recipe);
+        recipeIndexer.saved(saved);
+        return ResponseEntity.ok().eTag(ETags.of(saved)).body(saved);
+    }
+
+    /**
+     * Creates many recipes at once. IDs are reserved in one step and the valid items are
+     * inserted with a single unordered bulk write; invalid items are reported, not inserted.
+     *
+     * @param recipes the recipes to create
+     * @return a BulkResult with one result per item, or 400 Bad Request if the batch is empty or too large
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createRecipes(@RequestBody List<Recipe> recipes) {
+        ResponseEntity<?> rejected = checkBatchSize(recipes.size());
+        return rejected != null ? rejected : ResponseEntity.ok(bulkService.createAll(recipes));
+    }
+
+    /**
+     * Replaces many existing recipes at once with a single unordered bulk write.
+     * Each item must include its ID.
+     *
+     * @param recipes the recipes to update
+     * @return a BulkResult with one result per item, or 400 Bad Request if the batch is empty or too large
+     */
+    @PutMapping("/bulk")
+    public ResponseEntity<?> updateRecipes(@RequestBody List<Recipe> recipes) {
+        ResponseEntity<?> rejected = checkBatchSize(recipes.size());
+        return rejected != null ? rejected : ResponseEntity.ok(bulkService.updateAll(recipes));
+    }
+
+    /**
+     * Deletes many recipes at once with a single delete command.
+     *
+     * @param ids the IDs of the recipes to delete
+     * @return a BulkResult with one result per ID, or 400 Bad Request if the batch is empty or too large
+     */
+    @DeleteMapping("/bulk")
+    public ResponseEntity<?> deleteRecipes(@RequestBody List<Integer> ids) {
+        ResponseEntity<?> rejected = checkBatchSize(ids.size());
+        return rejected != null ? rejected : ResponseEntity.ok(bulkService.deleteAll(ids));
     }
 
     /**
      * Retrieves a list of all recipes.
      *
-     * @return a list of all Recipe objects
+     * @param fields optional comma-separated fields to return, or "summary" (id, title, category, cookingTime)
+     * @return a list of all recipes with an ETag over their IDs and versions, or 400 Bad Request for unknown fields
      */
     @GetMapping
-    public List<Recipe> getAllRecipes() {
-        return recipeRepo.findAll();
+    public ResponseEntity<?> getAllRecipes(@RequestParam(required = false) String fields) {
+        Set<String> selected;
+        try {
+            selected = RecipeFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        List<Recipe> recipes = recipeRepo.findAllWithFields(selected);
+        return ResponseEntity.ok().eTag(ETags.of(recipes, selected)).body(shape(recipes, selected));
+    }
+
+    /**
+     * Streams all recipes straight from a MongoDB cursor to the response.
+     * Each recipe is serialized as soon as it is read, so heap usage stays flat
+     * regardless of the collection size.
+     *
+     * @param format "ndjson" (default) for one JSON object per line, or "json" for a chunked JSON array
+     * @return a streaming response body
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamRecipes(
+            @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        boolean ndjson = !"json".equalsIgnoreCase(format);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(jsonBody(ndjson));
+    }
+
+    /**
+     * Imports recipes streamed in the request body, as NDJSON (one recipe per line) or CSV with a
+     * header row (id, title, ingredients, instructions, cookingTime, category; ingredients joined with |).
+     * The body is parsed incrementally and inserted in bounded batches, so any size can be loaded in
+     * constant memory. New IDs are assigned; IDs in the input are ignored. Progress of running imports
+     * is available at /api/admin/imports.
+     *
+     * @param format "ndjson" or "csv"; defaults from the Content-Type (text/csv means CSV)
+     * @param contentType the request content type
+     * @param body the request body
+     * @return an ImportReport with counts and the first errors, or 400 Bad Request for an unknown format or bad CSV header
+     * @throws IOException if reading the request body fails
+     */
+    @PostMapping("/import")
+    public ResponseEntity<?> importRecipes(
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream body
+    ) throws IOException {
+        if (format == null) {
+            format = contentType != null && contentType.toLowerCase().startsWith("text/csv") ? "csv" : "ndjson";
+        }
+        try {
+            return switch (format.toLowerCase()) {
+                case "ndjson" -> ResponseEntity.ok(importService.importNdjson(body));
+                case "csv" -> ResponseEntity.ok(importService.importCsv(body));
+                default -> ResponseEntity.badRequest().body("format must be ndjson or csv");
+            };
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Exports all recipes as a download, streamed from a MongoDB cursor in constant memory.
+     * Both formats can be fed back to /import.
+     *
+     * @param format "ndjson" (default) or "csv"
+     * @return a streaming attachment, or 400 Bad Request for an unknown format
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> exportRecipes(@RequestParam(defaultValue = "ndjson") String format) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().body("format must be ndjson or csv");
+        }
+
+        StreamingResponseBody body = csv ? out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+            try (Stream<Recipe> recipes = recipeRepo.streamAllBy()) {
+                CsvWriter rows = new CsvWriter(writer);
+                rows.write(RecipeCsv.HEADER);
+                for (Recipe recipe : (Iterable<Recipe>) recipes::iterator) {
+                    rows.write(RecipeCsv.toRow(recipe));
+                }
+            }
+            writer.flush();
+        } : jsonBody(true);
+
+        return ResponseEntity.ok()
+                .contentType(csv ? TEXT_CSV : APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(csv ? "recipes.csv" : "recipes.ndjson").build().toString())
+                .body(body);
     }
 
     /**
@@ -65,82 +305,486 @@ public class RecipeController {
      *
      * @param page the page number (0-based)
      * @param size the number of items per page
-     * @param sortBy the field to sort by (default is "title")
-     * @return a Page object containing recipes
+     * @param sortBy the field to sort by: title (default), category, cookingTime or id
+     * @param fields optional comma-separated fields to return, or "summary"
+     * @return a Page object containing recipes with an ETag, or 400 Bad Request for unknown sort fields or fields
      */
     @GetMapping("/paged")
-    public Page<Recipe> getPagedRecipes(
+    public ResponseEntity<?> getPagedRecipes(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "5") int size,
-            @RequestParam(defaultValue = "title") String sortBy
+            @RequestParam(defaultValue = "title") String sortBy,
+            @RequestParam(required = false) String fields
     ) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy));
-        return recipeRepo.findAll(pageable);
+        if (!SORT_FIELDS.contains(sortBy)) {
+            return ResponseEntity.badRequest().body("sortBy must be one of " + SORT_FIELDS);
+        }
+        Set<String> selected;
+        try {
+            selected = RecipeFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        Pageable pageable = PageRequest.of(page, size, indexedSort(sortBy));
+        Page<Recipe> result = recipeRepo.findAllWithFields(pageable, selected);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(result.getContent(), result.getTotalElements(), selected))
+                .body(selected == null ? result : result.map(r -> RecipeFields.select(r, selected)));
+    }
+
+    /**
+     * Retrieves a slice of recipes using keyset (cursor) pagination.
+     * Each call resumes right after the last recipe of the previous slice using an
+     * index range scan and runs no count query, so every slice costs the same.
+     *
+     * @param size the number of items per slice (1-100)
+     * @param sortBy the field to sort by: title, category, cookingTime or id (ignored when a cursor is given)
+     * @param cursor the opaque cursor returned by the previous call, or absent for the first slice
+     * @return a RecipeCursorPage with the recipes and the next cursor, or 400 Bad Request for invalid input
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<?> getRecipesByCursor(
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(defaultValue = "title") String sortBy,
+            @RequestParam(required = false) String cursor
+    ) {
+        if (size < 1 || size > 100) {
+            return ResponseEntity.badRequest().body("Size must be between 1 and 100");
+        }
+
+        CursorCodec.Position after = null;
+        if (cursor != null) {
+            try {
+                after = CursorCodec.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            }
+            sortBy = after.sortBy();
+        }
+        if (!SORT_FIELDS.contains(sortBy)) {
+            return ResponseEntity.badRequest().body("sortBy must be one of " + SORT_FIELDS);
+        }
+
+        List<Recipe> slice = recipeRepo.findPageAfter(sortBy,
+                after == null ? null : after.value(),
+                after == null ? null : after.id(),
+                size + 1);
+
+        String next = null;
+        if (slice.size() > size) {
+            slice = slice.subList(0, size);
+            Recipe last = slice.get(size - 1);
+            next = CursorCodec.encode(new CursorCodec.Position(sortBy, sortValue(last, sortBy), last.getId()));
+        }
+        return ResponseEntity.ok()
+                .eTag(ETags.of(slice, next))
+                .body(new RecipeCursorPage(slice, next));
     }
 
     /**
-     * Retrieves a single recipe by its ID.
+     * Retrieves a single recipe by its ID, served from the read-through cache when possible.
+     * A revalidation (If-None-Match) of a recipe that is not cached is answered from its
+     * version alone, so an unchanged recipe is neither loaded nor serialized.
+     * The body is served from pre-encoded bytes (gzip-compressed when the client accepts it),
+     * so a hot recipe is serialized once per version rather than once per request. The gzip body
+     * carries its own ETag ({@code "id.version-gz"}); If-None-Match accepts either form.
      *
      * @param id the ID of the recipe
-     * @return the Recipe object if found, otherwise 404 Not Found
+     * @param request the current request, used for conditional checks
+     * @return the Recipe JSON with its ETag if found, 304 Not Modified if unchanged, otherwise 404 Not Found
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Recipe> getRecipeById(@PathVariable Integer id) {
-        return recipeRepo.findById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getRecipeById(@PathVariable Integer id, WebRequest request) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && recipeCache.getIfPresent(id).isEmpty()) {
+            Optional<Long> version = recipeRepo.findVersionById(id);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            String etag = ETags.of(id, version.get());
+            String matched = ETags.matching(ifNoneMatch, etag, ETags.gzip(etag));
+            if (matched != null) {
+                return notModified(matched);
+            }
+        }
+        Optional<Recipe> recipe = recipeCache.get(id);
+        if (recipe.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = ETags.of(recipe.get());
+        if (ifNoneMatch != null) {
+            String matched = ETags.matching(ifNoneMatch, etag, ETags.gzip(etag));
+            if (matched != null) {
+                return notModified(matched);
+            }
+        }
+
+        RecipeBodyCache.Body body = bodyCache.get(recipe.get());
+        boolean gzip = body.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(gzip ? ETags.gzip(etag) : etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(gzip ? body.gzip() : body.json());
     }
 
     /**
-     * Updates an existing recipe by ID.
+     * Updates an existing recipe by ID with a single atomic update that also bumps its version.
+     * If an If-Match header is sent, the update only applies while the recipe is still at the
+     * version the client saw; otherwise it fails with 412 Precondition Failed.
      *
      * @param id the ID of the recipe to update
      * @param updated the updated Recipe object
-     * @return the updated Recipe if found, otherwise 404 Not Found
+     * @param ifMatch optional ETag of the version being replaced
+     * @return the updated Recipe with its new ETag, 404 Not Found, or 412 Precondition Failed
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Recipe> updateRecipe(@PathVariable Integer id, @Valid @RequestBody Recipe updated) {
-        return recipeRepo.findById(id)
-                .map(existing -> {
-                    updated.setId(id);
-                    return ResponseEntity.ok(recipeRepo.save(updated));
-                })
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<?> updateRecipe(@PathVariable Integer id, @Valid @RequestBody Recipe updated,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = null;
+        if (ifMatch != null) {
+            try {
+                expectedVersion = ETags.expectedVersion(ifMatch, id);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage());
+            }
+        }
+
+        updated.setId(id);
+        return updateResult(id, recipeRepo.replaceIfVersion(updated, expectedVersion), expectedVersion);
+    }
+
+    /**
+     * Changes only the given fields of a recipe with a single atomic {@code $set} update that
+     * also bumps its version. The body holds just the fields to change (null clears optional
+     * fields); like PUT, an If-Match header makes the update conditional on the version.
+     *
+     * @param id the ID of the recipe to update
+     * @param changes the fields to change, by name
+     * @param ifMatch optional ETag of the version being modified
+     * @return the updated Recipe with its new ETag, 400 Bad Request, 404 Not Found, or 412 Precondition Failed
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchRecipe(@PathVariable Integer id, @RequestBody Map<String, Object> changes,
+                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Map<String, Object> validated;
+        try {
+            validated = RecipePatch.validate(changes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        Long expectedVersion = null;
+        if (ifMatch != null) {
+            try {
+                expectedVersion = ETags.expectedVersion(ifMatch, id);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage());
+            }
+        }
+
+        return updateResult(id, recipeRepo.patchIfVersion(id, validated, expectedVersion), expectedVersion);
     }
 
     /**
-     * Deletes a recipe by its ID.
+     * Deletes a recipe by its ID with a single delete command and records a tombstone;
+     * the deleted count decides the status.
      *
      * @param id the ID of the recipe to delete
      * @return HTTP 204 No Content if deleted, 404 Not Found otherwise
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteRecipe(@PathVariable Integer id) {
-        return recipeRepo.findById(id)
-                .map(recipe -> {
-                    recipeRepo.deleteById(id);
-                    return ResponseEntity.noContent().build();
-                })
-                .orElse(ResponseEntity.notFound().build());
+        if (recipeRepo.removeAndRecord(id) == 0) {
+            return ResponseEntity.notFound().build();
+        }
+        recipeIndexer.deleted(id);
+        return ResponseEntity.noContent().build();
     }
 
     /**
-     * Searches for recipes by title or category.
+     * Searches for recipes by free text, title or category.
+     * Free-text queries are answered from the in-memory inverted index and ranked by relevance;
+     * until the index has finished loading they fall back to a title substring match.
+     * With mode=fuzzy, misspelled query terms (e.g., "spagetti") also match close indexed terms.
      *
+     * @param q optional free-text query matched against title, category, ingredients and instructions
      * @param title optional title substring to search for
      * @param category optional category substring to search for
-     * @return list of matching Recipe objects, or all recipes if no filters are provided
+     * @param limit maximum number of ranked results for free-text queries
+     * @param fields optional comma-separated fields to return, or "summary"
+     * @param mode how free-text query terms match: "exact" (default) or "fuzzy"
+     * @return list of matching recipes, or all recipes if no filters are provided, with an ETag;
+     *         400 Bad Request for unknown fields or modes
      */
     @GetMapping("/search")
-    public List<Recipe> searchRecipes(
+    public ResponseEntity<?> searchRecipes(
+            @RequestParam(required = false) String q,
             @RequestParam(required = false) String title,
-            @RequestParam(required = false) String category
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "exact") String mode
     ) {
-        if (title != null) {
-            return recipeRepo.findByTitleContainingIgnoreCase(title);
+        if (!SEARCH_MODES.contains(mode)) {
+            return ResponseEntity.badRequest().body("mode must be one of " + SEARCH_MODES);
+        }
+        Set<String> selected;
+        try {
+            selected = RecipeFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+
+        List<Recipe> results;
+        if (q != null) {
+            int max = Math.min(Math.max(limit, 1), 100);
+            results = recipeIndexer.isReady()
+                    ? findAllInOrder("fuzzy".equals(mode) ? searchIndex.fuzzySearch(q, max) : searchIndex.search(q, max), selected)
+                    : recipeRepo.findByTitleWithFields(q, selected);
+        } else if (title != null) {
+            results = recipeRepo.findByTitleWithFields(title, selected);
         } else if (category != null) {
-            return recipeRepo.findByCategoryContainingIgnoreCase(category);
+            results = recipeRepo.findByCategoryWithFields(category, selected);
+        } else {
+            results = recipeRepo.findAllWithFields(selected);
+        }
+        return ResponseEntity.ok().eTag(ETags.of(results, selected)).body(shape(results, selected));
+    }
+
+    /**
+     * Returns recipe counts per category and per cooking-time range, over the whole catalog
+     * or over the recipes matching a free-text query. Counts come from in-memory counters
+     * kept up to date on every write, so no documents are read.
+     *
+     * @param q optional free-text query to narrow the counts to its matches
+     * @param limit the maximum number of categories to return (1-1000)
+     * @return a RecipeFacets object, or 503 while the index is loading
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<?> getFacets(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        if (!recipeIndexer.isReady()) {
+            return ResponseEntity.status(503).body("Facet index is still loading");
+        }
+        int categoryLimit = Math.min(Math.max(limit, 1), 1000);
+        return ResponseEntity.ok(q == null
+                ? facetIndex.facets(categoryLimit)
+                : facetIndex.facets(searchIndex.matchingIds(q), categoryLimit));
+    }
+
+    /**
+     * Completes a partially typed word with the most used recipe titles, categories and
+     * ingredient names containing a word that starts with it. Served from an in-memory
+     * prefix index kept up to date on every write, so it is cheap enough to call per keystroke.
+     *
+     * @param prefix the text typed so far (case and accents are ignored)
+     * @param limit the maximum number of suggestions (1-10)
+     * @return a list of Suggestion objects, most used first, or 503 while the index is loading
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        if (!recipeIndexer.isReady()) {
+            return ResponseEntity.status(503).body("Suggest index is still loading");
+        }
+        int max = Math.min(Math.max(limit, 1), RecipeSuggestIndex.MAX_SUGGESTIONS);
+        return ResponseEntity.ok(suggestIndex.suggest(prefix, max));
+    }
+
+    /**
+     * Builds the sort for a whitelisted field, with the ID as tie-breaker so the
+     * order is stable across pages and matches the field's compound index.
+     *
+     * @param sortBy one of {@link #SORT_FIELDS}
+     * @return the sort
+     */
+    static Sort indexedSort(String sortBy) {
+        return "id".equals(sortBy) ? Sort.by("id") : Sort.by(sortBy).and(Sort.by("id"));
+    }
+
+    /**
+     * Reads the value of a keyset sort field from a recipe.
+     *
+     * @param recipe the recipe
+     * @param sortBy one of {@link #SORT_FIELDS}
+     * @return the field value
+     */
+    private static Object sortValue(Recipe recipe, String sortBy) {
+        return switch (sortBy) {
+            case "title" -> recipe.getTitle();
+            case "category" -> recipe.getCategory();
+            case "cookingTime" -> recipe.getCookingTime();
+            default -> recipe.getId();
+        };
+    }
+
+    /**
+     * Finds recipes that can be cooked with the given ingredients, ranked by how much
+     * of each recipe the ingredients cover. Recipes must use at least one of the
+     * given ingredients and may miss at most {@code maxMissing} of their own.
+     *
+     * @param ingredients the available ingredients (comma-separated or repeated)
+     * @param maxMissing the maximum number of missing ingredients per recipe
+     * @param limit the maximum number of results (1-100)
+     * @return list of IngredientMatch objects, best coverage first, or 503 while the index is loading
+     */
+    @GetMapping("/cook-with")
+    public ResponseEntity<?> cookWith(
+            @RequestParam List<String> ingredients,
+            @RequestParam(defaultValue = "0") int maxMissing,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        if (!recipeIndexer.isReady()) {
+            return ResponseEntity.status(503).body("Ingredient index is still loading");
+        }
+
+        List<IngredientMatchIndex.Match> matches =
+                ingredientIndex.match(ingredients, maxMissing, Math.min(Math.max(limit, 1), 100));
+        Set<String> available = ingredients.stream()
+                .map(IngredientMatchIndex::normalize)
+                .collect(Collectors.toSet());
+
+        Map<Integer, Recipe> recipes = new HashMap<>();
+        findAllInOrder(matches.stream().map(IngredientMatchIndex.Match::id).toList(), null)
+                .forEach(r -> recipes.put(r.getId(), r));
+
+        return ResponseEntity.ok(matches.stream()
+                .filter(m -> recipes.containsKey(m.id()))
+                .map(m -> new IngredientMatch(
+                        recipes.get(m.id()),
+                        m.coverage(),
+                        ingredientIndex.ingredientsOf(m.id()).stream()
+                                .filter(i -> !available.contains(i))
+                                .toList()))
+                .toList());
+    }
+
+    /**
+     * Builds a 304 Not Modified response for a single recipe.
+     *
+     * @param etag the tag the client's cached representation matched
+     * @return the empty response
+     */
+    private static ResponseEntity<byte[]> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .build();
+    }
+
+    /**
+     * Tells whether an Accept-Encoding header allows a gzip response.
+     *
+     * @param acceptEncoding the header value, or null
+     * @return true if gzip is listed without {@code q=0}
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) continue;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].replace(" ", "");
+                if (param.equals("q=0") || param.matches("q=0\\.0*")) return false;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Builds a body that writes every recipe from a MongoDB cursor as it is read.
+     *
+     * @param ndjson true for one JSON object per line, false for a chunked JSON array
+     * @return the streaming body
+     */
+    private StreamingResponseBody jsonBody(boolean ndjson) {
+        ObjectWriter writer = objectMapper.writerFor(Recipe.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return out -> {
+            try (Stream<Recipe> recipes = recipeRepo.streamAllBy();
+                 JsonGenerator gen = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+                if (ndjson) {
+                    gen.setRootValueSeparator(null);
+                } else {
+                    gen.writeStartArray();
+                }
+                for (Recipe recipe : (Iterable<Recipe>) recipes::iterator) {
+                    writer.writeValue(gen, recipe);
+                    if (ndjson) gen.writeRaw('\n');
+                }
+                if (!ndjson) gen.writeEndArray();
+            }
+        };
+    }
+
+    /**
+     * Rejects empty or oversized bulk requests.
+     *
+     * @param size the number of items in the request
+     * @return a 400 response, or null if the size is acceptable
+     */
+    private static ResponseEntity<?> checkBatchSize(int size) {
+        if (size == 0 || size > RecipeBulkService.MAX_ITEMS) {
+            return ResponseEntity.badRequest().body("Bulk requests must contain 1 to " + RecipeBulkService.MAX_ITEMS + " items");
+        }
+        return null;
+    }
+
+    /**
+     * Turns the outcome of a single-recipe update into a response.
+     *
+     * @param id the ID of the recipe
+     * @param saved the updated recipe, or empty if the update matched nothing
+     * @param expectedVersion the version the update was conditional on, or null
+     * @return the updated Recipe with its ETag, 404 Not Found, or 412 Precondition Failed
+     */
+    private ResponseEntity<?> updateResult(Integer id, Optional<Recipe> saved, Long expectedVersion) {
+        if (saved.isEmpty()) {
+            // Only a failed conditional update needs a second query to tell "changed" from "missing"
+            if (expectedVersion != null && recipeRepo.existsById(id)) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body("Recipe was modified by another request");
+            }
+            return ResponseEntity.notFound().build();
         }
-        return recipeRepo.findAll();
+        recipeIndexer.saved(saved.get());
+        return ResponseEntity.ok().eTag(ETags.of(saved.get())).body(saved.get());
+    }
+
+    /**
+     * Shapes a list response: whole recipes, or only the selected fields of each.
+     *
+     * @param recipes the recipes
+     * @param fields the selected fields, or null for whole recipes
+     * @return the response body
+     */
+    static Object shape(List<Recipe> recipes, Set<String> fields) {
+        if (fields == null) return recipes;
+        return recipes.stream().map(r -> RecipeFields.select(r, fields)).toList();
+    }
+
+    /**
+     * Loads recipes by ID in one query and returns them in the order of the given IDs.
+     * IDs that no longer exist in the database are skipped.
+     *
+     * @param ids the recipe IDs in the desired order
+     * @param fields the fields to read, or null for whole recipes
+     * @return the recipes in that order
+     */
+    private List<Recipe> findAllInOrder(List<Integer> ids, Set<String> fields) {
+        if (ids.isEmpty()) return List.of();
+        Map<Integer, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) rank.put(ids.get(i), i);
+        return recipeRepo.findAllByIdWithFields(ids, fields).stream()
+                .sorted(Comparator.comparing((Recipe r) -> rank.get(r.getId())))
+                .toList();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package com.ghadynazha.recipeapi.model;
+
+import lombok.*;
+
+/**
+ * Represents the outcome of one item in a bulk recipe request.
+ *
+ * Author: Ghady Nazha
+ */
+@Data
+@AllArgsConstructor
+public class BulkItemResult {
+    /**
+     * Default constructor for BulkItemResult.
+     * Required by frameworks like Spring and Jackson.
+     */
+    public BulkItemResult() {}
+
+    /**
+     * Position of the item in the request array (0-based).
+     */
+    private int index;
+
+    /**
+     * ID of the recipe the item refers to, if known.
+     */
+    private Integer id;
+
+    /**
+     * Outcome: "created", "updated", "deleted", "invalid", "not_found" or "failed".
+     */
+    private String status;
+
+    /**
+     * Error description for unsuccessful items, otherwise null.
+     */
+    private String error;
+}
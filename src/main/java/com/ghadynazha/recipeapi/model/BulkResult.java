@@ -0,0 +1,46 @@
+package com.ghadynazha.recipeapi.model;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Represents the response of a bulk recipe request, with a summary and one result per item.
+ *
+ * Author: Ghady Nazha
+ */
+@Data
+@AllArgsConstructor
+public class BulkResult {
+    /**
+     * Default constructor for BulkResult.
+     * Required by frameworks like Spring and Jackson.
+     */
+    public BulkResult() {}
+
+    /**
+     * Number of items that were applied.
+     */
+    private int succeeded;
+
+    /**
+     * Number of items that were rejected or failed.
+     */
+    private int failed;
+
+    /**
+     * Per-item results, in request order.
+     */
+    private List<BulkItemResult> items;
+
+    /**
+     * Builds a result from per-item outcomes.
+     *
+     * @param items the per-item results in request order
+     * @return the summarized result
+     */
+    public static BulkResult of(List<BulkItemResult> items) {
+        int failed = (int) items.stream().filter(i -> i.getError() != null).count();
+        return new BulkResult(items.size() - failed, failed, items);
+    }
+}
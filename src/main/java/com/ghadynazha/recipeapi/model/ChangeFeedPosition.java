@@ -0,0 +1,41 @@
+package com.ghadynazha.recipeapi.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Records how far an instance has applied the recipe change feed, stored in the
+ * "change_feed_positions" collection with one document per instance.
+ *
+ * Author: Ghady Nazha
+ */
+@Document(collection = "change_feed_positions")
+@Data
+@AllArgsConstructor
+public class ChangeFeedPosition {
+    /**
+     * Default constructor for ChangeFeedPosition.
+     * Required by Spring Data and serialization frameworks.
+     */
+    public ChangeFeedPosition() {}
+
+    /**
+     * ID of the instance (see {@code app.change-feed.node-id}).
+     */
+    @Id
+    private String node;
+
+    /**
+     * The change stream resume token ({@code _data}) of the last applied event, or null
+     * when the instance reads the outbox instead.
+     */
+    private String resumeToken;
+
+    /**
+     * When the last applied change was made.
+     */
+    private Date at;
+}
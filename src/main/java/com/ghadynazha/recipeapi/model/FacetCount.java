@@ -0,0 +1,29 @@
+package com.ghadynazha.recipeapi.model;
+
+import lombok.*;
+
+/**
+ * Represents one value of a facet and how many recipes have it.
+ *
+ * Author: Ghady Nazha
+ */
+@Data
+@AllArgsConstructor
+public class FacetCount {
+    /**
+     * Default constructor for FacetCount.
+     * Required by frameworks like Spring and Jackson.
+     */
+    public FacetCount() {}
+
+    /**
+     * The facet value (a category, or a cooking-time range such as "15-29").
+     * Null for recipes without a category.
+     */
+    private String value;
+
+    /**
+     * Number of recipes with this value.
+     */
+    private long count;
+}
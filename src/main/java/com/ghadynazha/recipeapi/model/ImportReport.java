@@ -0,0 +1,65 @@
+package com.ghadynazha.recipeapi.model;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Represents the progress or outcome of a streaming recipe import.
+ *
+ * Author: Ghady Nazha
+ */
+@Data
+@AllArgsConstructor
+public class ImportReport {
+    /**
+     * Default constructor for ImportReport.
+     * Required by frameworks like Spring and Jackson.
+     */
+    public ImportReport() {}
+
+    /**
+     * Identifier of the import, unique until restart.
+     */
+    private long id;
+
+    /**
+     * Input format: "ndjson" or "csv".
+     */
+    private String format;
+
+    /**
+     * True while the import is still reading or writing.
+     */
+    private boolean running;
+
+    /**
+     * Number of records read so far.
+     */
+    private long received;
+
+    /**
+     * Number of recipes inserted.
+     */
+    private long imported;
+
+    /**
+     * Number of records rejected by parsing or validation.
+     */
+    private long invalid;
+
+    /**
+     * Number of valid records the database refused.
+     */
+    private long failed;
+
+    /**
+     * Time spent so far, in milliseconds.
+     */
+    private long elapsedMs;
+
+    /**
+     * The first rejected or failed records; the index is the record's position in the input (0-based).
+     */
+    private List<BulkItemResult> errors;
+}
@@ -0,0 +1,36 @@
+package com.ghadynazha.recipeapi.model;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Represents a recipe returned by the "cook with what I have" query,
+ * together with how well the available ingredients cover it.
+ *
+ * Author: Ghady Nazha
+ */
+@Data
+@AllArgsConstructor
+public class IngredientMatch {
+    /**
+     * Default constructor for IngredientMatch.
+     * Required by frameworks like Spring and Jackson.
+     */
+    public IngredientMatch() {}
+
+    /**
+     * The matching recipe.
+     */
+    private Recipe recipe;
+
+    /**
+     * Fraction of the recipe's ingredients that are available (0 to 1).
+     */
+    private double coverage;
+
+    /**
+     * The recipe's ingredients that are not available (normalized names).
+     */
+    private List<String> missingIngredients;
+}
@@ -2,6 +2,9 @@ package com.ghadynazha.recipeapi.model;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import jakarta.validation.constraints.NotBlank;
 
@@ -16,6 +19,11 @@ import java.util.List;
  * Author: Ghady Nazha
  */
 @Document(collection = "recipes")
+@CompoundIndexes({
+        @CompoundIndex(name = "title_id", def = "{'title': 1, '_id': 1}"),
+        @CompoundIndex(name = "category_id", def = "{'category': 1, '_id': 1}"),
+        @CompoundIndex(name = "cookingTime_id", def = "{'cookingTime': 1, '_id': 1}")
+})
 @Data
 @AllArgsConstructor
 public class Recipe {
@@ -25,6 +33,21 @@ public class Recipe {
      */
     public Recipe() {}
 
+    /**
+     * Creates a recipe without a version or modification time; both are assigned when it is first stored.
+     *
+     * @param id the recipe ID (null for new recipes)
+     * @param title the title
+     * @param ingredients the ingredients
+     * @param instructions the instructions
+     * @param cookingTime the cooking time in minutes
+     * @param category the category
+     */
+    public Recipe(Integer id, String title, List<String> ingredients, String instructions,
+                  int cookingTime, String category) {
+        this(id, title, ingredients, instructions, cookingTime, category, null, null);
+    }
+
     /**
      * The unique integer ID of the recipe (auto-generated).
      */
@@ -59,4 +82,19 @@ public class Recipe {
      * The category or type of the recipe (e.g., Italian, Dessert).
      */
     private String category;
+
+    /**
+     * Revision number, starting at 1 and incremented by every write.
+     * Exposed as the ETag and checked by conditional updates. Recipes stored before
+     * versioning was introduced have no version and are treated as version 0.
+     */
+    private Long version;
+
+    /**
+     * Time of the last write (epoch millis), set by every create and update.
+     * Lets a node that loaded a catalog snapshot replay only the recipes changed since.
+     * Null for recipes not written since the field was introduced.
+     */
+    @Indexed
+    private Long modifiedAt;
 }
\ No newline at end of file
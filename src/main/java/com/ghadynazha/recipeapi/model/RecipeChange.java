@@ -0,0 +1,54 @@
+package com.ghadynazha.recipeapi.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Announces that a recipe was written, stored in the capped "recipe_changes" collection.
+ * Used as the change feed between instances when MongoDB change streams are unavailable
+ * (standalone servers): every node appends its writes and tails the entries of the others.
+ * Only the recipe ID is recorded; readers fetch the current document, so entries can be
+ * applied more than once and in any order. An entry without a recipe ID marks a gap: the
+ * writer dropped changes made since {@code gapSince}, and readers catch up from modification times.
+ *
+ * Author: Ghady Nazha
+ */
+@Document(collection = "recipe_changes")
+@Data
+@AllArgsConstructor
+public class RecipeChange {
+    /**
+     * Default constructor for RecipeChange.
+     * Required by Spring Data and serialization frameworks.
+     */
+    public RecipeChange() {}
+
+    /**
+     * The unique ID of the entry (generated by MongoDB).
+     */
+    @Id
+    private String id;
+
+    /**
+     * ID of the recipe that was created, updated or deleted, or null for a gap marker.
+     */
+    private Integer recipeId;
+
+    /**
+     * ID of the instance that made the write, so it can skip its own entries.
+     */
+    private String node;
+
+    /**
+     * When the write was made.
+     */
+    private Date at;
+
+    /**
+     * For gap markers, when the first dropped change was made; null otherwise.
+     */
+    private Date gapSince;
+}
@@ -0,0 +1,32 @@
+package com.ghadynazha.recipeapi.model;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Represents one slice of a keyset-paginated recipe listing.
+ * Unlike {@link RecipePage}, it carries no totals, only an opaque cursor
+ * that points at the next slice.
+ *
+ * Author: Ghady Nazha
+ */
+@Data
+@AllArgsConstructor
+public class RecipeCursorPage {
+    /**
+     * Default constructor for RecipeCursorPage.
+     * Required by frameworks like Spring and Jackson.
+     */
+    public RecipeCursorPage() {}
+
+    /**
+     * The recipes in this slice.
+     */
+    private List<Recipe> content;
+
+    /**
+     * Cursor to pass back to fetch the next slice, or null if this is the last one.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,35 @@
+package com.ghadynazha.recipeapi.model;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Represents facet counts over the recipe catalog or over the results of a search.
+ *
+ * Author: Ghady Nazha
+ */
+@Data
+@AllArgsConstructor
+public class RecipeFacets {
+    /**
+     * Default constructor for RecipeFacets.
+     * Required by frameworks like Spring and Jackson.
+     */
+    public RecipeFacets() {}
+
+    /**
+     * Number of recipes counted.
+     */
+    private long total;
+
+    /**
+     * Recipe counts per category, most common first.
+     */
+    private List<FacetCount> categories;
+
+    /**
+     * Recipe counts per cooking-time range in minutes, shortest first (empty ranges included).
+     */
+    private List<FacetCount> cookingTime;
+}
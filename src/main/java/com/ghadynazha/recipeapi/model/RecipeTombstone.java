@@ -0,0 +1,39 @@
+package com.ghadynazha.recipeapi.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+/**
+ * Records that a recipe was deleted, stored in the "recipe_tombstones" collection.
+ * Nodes that start from a catalog snapshot replay tombstones newer than the snapshot's
+ * watermark to drop deleted recipes. Tombstones expire after seven days, so snapshots
+ * older than that are not used.
+ *
+ * Author: Ghady Nazha
+ */
+@Document(collection = "recipe_tombstones")
+@Data
+@AllArgsConstructor
+public class RecipeTombstone {
+    /**
+     * Default constructor for RecipeTombstone.
+     * Required by Spring Data and serialization frameworks.
+     */
+    public RecipeTombstone() {}
+
+    /**
+     * ID of the deleted recipe.
+     */
+    @Id
+    private Integer id;
+
+    /**
+     * When the recipe was deleted; a TTL index removes the tombstone seven days later.
+     */
+    @Indexed(expireAfter = "7d")
+    private Date deletedAt;
+}
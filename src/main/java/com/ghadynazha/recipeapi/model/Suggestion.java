@@ -0,0 +1,33 @@
+package com.ghadynazha.recipeapi.model;
+
+import lombok.*;
+
+/**
+ * Represents one completion returned by the suggest endpoint.
+ *
+ * Author: Ghady Nazha
+ */
+@Data
+@AllArgsConstructor
+public class Suggestion {
+    /**
+     * Default constructor for Suggestion.
+     * Required by frameworks like Spring and Jackson.
+     */
+    public Suggestion() {}
+
+    /**
+     * The completed text, as first written in a recipe (e.g., "Crème Brûlée").
+     */
+    private String text;
+
+    /**
+     * Where the text comes from: "title", "category" or "ingredient".
+     */
+    private String type;
+
+    /**
+     * Number of recipes using this text; suggestions are ranked by it.
+     */
+    private long count;
+}
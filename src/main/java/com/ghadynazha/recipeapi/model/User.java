@@ -1,6 +1,7 @@
 package com.ghadynazha.recipeapi.model;
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 /**
@@ -28,8 +29,9 @@ public class User {
     private String id;
 
     /**
-     * Username used for login. Must be unique.
+     * Username used for login. Must be unique (enforced by a unique index).
      */
+    @Indexed(unique = true)
     private String username;
 
     /**
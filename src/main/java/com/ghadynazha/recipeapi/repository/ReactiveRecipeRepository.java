@@ -0,0 +1,24 @@
+package com.ghadynazha.recipeapi.repository;
+import com.ghadynazha.recipeapi.model.Recipe;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking repository for {@link Recipe} documents, used by the "reactive" profile.
+ * Declares only the queries the reactive controller uses; every result is a publisher
+ * that honors downstream demand.
+ *
+ * Author: Ghady Nazha
+ */
+@Profile("reactive")
+public interface ReactiveRecipeRepository extends ReactiveMongoRepository<Recipe, Integer>, ReactiveRecipeRepositoryCustom {
+    /**
+     * Finds one page of recipes.
+     *
+     * @param pageable the page, size and sort to apply
+     * @return the recipes on that page
+     */
+    Flux<Recipe> findAllBy(Pageable pageable);
+}
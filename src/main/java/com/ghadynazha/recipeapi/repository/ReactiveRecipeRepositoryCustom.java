@@ -0,0 +1,94 @@
+package com.ghadynazha.recipeapi.repository;
+import com.ghadynazha.recipeapi.model.Recipe;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Custom non-blocking write methods for {@link Recipe} documents that cannot be
+ * expressed as derived queries on {@link ReactiveRecipeRepository}.
+ *
+ * Author: Ghady Nazha
+ */
+public interface ReactiveRecipeRepositoryCustom {
+    /**
+     * Finds all recipes, reading only the given fields.
+     *
+     * @param fields the fields to read (the ID and version are always read), or null for whole documents
+     * @return all recipes, with unselected fields left unset
+     * @see RecipeRepositoryCustom#findAllWithFields(Set)
+     */
+    Flux<Recipe> findAllWithFields(Set<String> fields);
+
+    /**
+     * Finds one page of recipes, reading only the given fields.
+     *
+     * @param pageable the page, size and sort to apply
+     * @param fields the fields to read (the ID and version are always read), or null for whole documents
+     * @return the recipes on that page, with unselected fields left unset
+     * @see RecipeRepositoryCustom#findAllWithFields(Pageable, Set)
+     */
+    Flux<Recipe> findAllWithFields(Pageable pageable, Set<String> fields);
+
+    /**
+     * Finds recipes whose titles contain the given substring (case-insensitive), reading only the given fields.
+     *
+     * @param title the title keyword to search for
+     * @param fields the fields to read (the ID and version are always read), or null for whole documents
+     * @return matching recipes, with unselected fields left unset
+     */
+    Flux<Recipe> findByTitleWithFields(String title, Set<String> fields);
+
+    /**
+     * Finds recipes whose categories contain the given substring (case-insensitive), reading only the given fields.
+     *
+     * @param category the category keyword to search for
+     * @param fields the fields to read (the ID and version are always read), or null for whole documents
+     * @return matching recipes, with unselected fields left unset
+     */
+    Flux<Recipe> findByCategoryWithFields(String category, Set<String> fields);
+
+    /**
+     * Finds recipes by ID, reading only the given fields.
+     *
+     * @param ids the recipe IDs
+     * @param fields the fields to read (the ID and version are always read), or null for whole documents
+     * @return the recipes that exist, in no particular order
+     */
+    Flux<Recipe> findAllByIdWithFields(Collection<Integer> ids, Set<String> fields);
+
+    /**
+     * Replaces the content of an existing recipe and increments its version in one atomic
+     * update, optionally only if the stored version still equals {@code expectedVersion}.
+     *
+     * @param recipe the new content; its ID selects the document and its version is ignored
+     * @param expectedVersion the version the client last saw, or null to update unconditionally
+     * @return the updated recipe, or empty if it does not exist or its version has changed
+     * @see RecipeRepositoryCustom#replaceIfVersion(Recipe, Long)
+     */
+    Mono<Recipe> replaceIfVersion(Recipe recipe, Long expectedVersion);
+
+    /**
+     * Sets only the given fields of an existing recipe and increments its version in one atomic update.
+     *
+     * @param id the recipe ID
+     * @param changes the validated fields to set, by name (null values clear a field)
+     * @param expectedVersion the version the client last saw, or null to update unconditionally
+     * @return the updated recipe, or empty if it does not exist or its version has changed
+     * @see RecipeRepositoryCustom#patchIfVersion(Integer, Map, Long)
+     */
+    Mono<Recipe> patchIfVersion(Integer id, Map<String, Object> changes, Long expectedVersion);
+
+    /**
+     * Deletes a recipe with a single delete command and, if it existed, records a tombstone.
+     *
+     * @param id the ID of the recipe to delete
+     * @return the number of deleted recipes (0 or 1)
+     * @see RecipeRepositoryCustom#removeAndRecord(Integer)
+     */
+    Mono<Long> removeAndRecord(Integer id);
+}
@@ -0,0 +1,86 @@
+package com.ghadynazha.recipeapi.repository;
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.model.RecipeTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * {@link ReactiveMongoTemplate}-backed implementation of {@link ReactiveRecipeRepositoryCustom}.
+ * Picked up automatically by Spring Data as a fragment of {@link ReactiveRecipeRepository}.
+ *
+ * Author: Ghady Nazha
+ */
+public class ReactiveRecipeRepositoryImpl implements ReactiveRecipeRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    /**
+     * Constructs the repository fragment.
+     *
+     * @param mongoTemplate the template used to run updates
+     */
+    public ReactiveRecipeRepositoryImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Flux<Recipe> findAllWithFields(Set<String> fields) {
+        return mongoTemplate.find(RecipeRepositoryImpl.withFields(new Query(), fields), Recipe.class);
+    }
+
+    @Override
+    public Flux<Recipe> findAllWithFields(Pageable pageable, Set<String> fields) {
+        return mongoTemplate.find(RecipeRepositoryImpl.withFields(new Query().with(pageable), fields), Recipe.class);
+    }
+
+    @Override
+    public Flux<Recipe> findByTitleWithFields(String title, Set<String> fields) {
+        return mongoTemplate.find(RecipeRepositoryImpl.withFields(
+                query(RecipeRepositoryImpl.containsIgnoreCase("title", title)), fields), Recipe.class);
+    }
+
+    @Override
+    public Flux<Recipe> findByCategoryWithFields(String category, Set<String> fields) {
+        return mongoTemplate.find(RecipeRepositoryImpl.withFields(
+                query(RecipeRepositoryImpl.containsIgnoreCase("category", category)), fields), Recipe.class);
+    }
+
+    @Override
+    public Flux<Recipe> findAllByIdWithFields(Collection<Integer> ids, Set<String> fields) {
+        return mongoTemplate.find(RecipeRepositoryImpl.withFields(query(where("id").in(ids)), fields), Recipe.class);
+    }
+
+    @Override
+    public Mono<Recipe> replaceIfVersion(Recipe recipe, Long expectedVersion) {
+        return mongoTemplate.findAndModify(RecipeRepositoryImpl.byIdAndVersion(recipe.getId(), expectedVersion),
+                RecipeRepositoryImpl.replacement(recipe), FindAndModifyOptions.options().returnNew(true), Recipe.class);
+    }
+
+    @Override
+    public Mono<Recipe> patchIfVersion(Integer id, Map<String, Object> changes, Long expectedVersion) {
+        return mongoTemplate.findAndModify(RecipeRepositoryImpl.byIdAndVersion(id, expectedVersion),
+                RecipeRepositoryImpl.patch(changes), FindAndModifyOptions.options().returnNew(true), Recipe.class);
+    }
+
+    @Override
+    public Mono<Long> removeAndRecord(Integer id) {
+        return mongoTemplate.remove(query(where("id").is(id)), Recipe.class)
+                .flatMap(result -> result.getDeletedCount() == 0
+                        ? Mono.just(0L)
+                        : mongoTemplate.upsert(query(where("id").is(id)), Update.update("deletedAt", new Date()),
+                                RecipeTombstone.class).thenReturn(result.getDeletedCount()));
+    }
+}
@@ -3,14 +3,16 @@ import com.ghadynazha.recipeapi.model.Recipe;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for accessing and managing {@link Recipe} documents in MongoDB.
- * Extends {@link MongoRepository} to provide standard CRUD and custom query methods.
+ * Extends {@link MongoRepository} to provide standard CRUD and custom query methods,
+ * and {@link RecipeRepositoryCustom} for hand-written queries.
  *
  * Author: Ghady Nazha
  */
-public interface RecipeRepository extends MongoRepository<Recipe, Integer> {
+public interface RecipeRepository extends MongoRepository<Recipe, Integer>, RecipeRepositoryCustom {
     /**
      * Finds recipes whose titles contain the given substring (case-insensitive).
      *
@@ -26,6 +28,14 @@ public interface RecipeRepository extends MongoRepository<Recipe, Integer> {
      * @return list of matching Recipe objects
      */
     List<Recipe> findByCategoryContainingIgnoreCase(String category);
+
+    /**
+     * Streams every recipe from a MongoDB cursor instead of loading the whole collection.
+     * The returned stream holds an open cursor and must be closed by the caller.
+     *
+     * @return a stream of all Recipe objects
+     */
+    Stream<Recipe> streamAllBy();
 }
 
 
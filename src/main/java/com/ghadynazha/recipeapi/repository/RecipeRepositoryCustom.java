@@ -0,0 +1,142 @@
+package com.ghadynazha.recipeapi.repository;
+import com.ghadynazha.recipeapi.model.Recipe;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Custom query methods for {@link Recipe} documents that cannot be expressed
+ * as derived queries on {@link RecipeRepository}.
+ *
+ * Author: Ghady Nazha
+ */
+public interface RecipeRepositoryCustom {
+    /**
+     * Finds the next slice of recipes after a given position using keyset pagination.
+     * Results are ordered by the sort field and then by ID, so the query is an index
+     * range scan and its cost does not depend on how deep the page is.
+     *
+     * @param sortBy the recipe property to sort by (e.g., "title", "cookingTime", "id")
+     * @param lastValue the sort value of the last recipe already returned (may be null)
+     * @param lastId the ID of the last recipe already returned, or null for the first page
+     * @param limit the maximum number of recipes to return
+     * @return list of recipes following the given position
+     */
+    List<Recipe> findPageAfter(String sortBy, Object lastValue, Integer lastId, int limit);
+
+    /**
+     * Finds all recipes, reading only the given fields.
+     *
+     * @param fields the fields to read (the ID and version are always read), or null for whole documents
+     * @return all recipes, with unselected fields left unset
+     */
+    List<Recipe> findAllWithFields(Set<String> fields);
+
+    /**
+     * Finds one page of recipes, reading only the given fields.
+     *
+     * @param pageable the page, size and sort to apply
+     * @param fields the fields to read (the ID and version are always read), or null for whole documents
+     * @return the page of recipes, with unselected fields left unset
+     */
+    Page<Recipe> findAllWithFields(Pageable pageable, Set<String> fields);
+
+    /**
+     * Finds recipes whose titles contain the given substring (case-insensitive), reading only the given fields.
+     *
+     * @param title the title keyword to search for
+     * @param fields the fields to read (the ID and version are always read), or null for whole documents
+     * @return matching recipes, with unselected fields left unset
+     */
+    List<Recipe> findByTitleWithFields(String title, Set<String> fields);
+
+    /**
+     * Finds recipes whose categories contain the given substring (case-insensitive), reading only the given fields.
+     *
+     * @param category the category keyword to search for
+     * @param fields the fields to read (the ID and version are always read), or null for whole documents
+     * @return matching recipes, with unselected fields left unset
+     */
+    List<Recipe> findByCategoryWithFields(String category, Set<String> fields);
+
+    /**
+     * Finds recipes by ID, reading only the given fields.
+     *
+     * @param ids the recipe IDs
+     * @param fields the fields to read (the ID and version are always read), or null for whole documents
+     * @return the recipes that exist, in no particular order
+     */
+    List<Recipe> findAllByIdWithFields(Collection<Integer> ids, Set<String> fields);
+
+    /**
+     * Reads only the version of a recipe, without loading the rest of the document.
+     *
+     * @param id the recipe ID
+     * @return the version (0 for unversioned recipes), or empty if the recipe does not exist
+     */
+    Optional<Long> findVersionById(Integer id);
+
+    /**
+     * Replaces the content of an existing recipe and increments its version in one atomic
+     * update. When {@code expectedVersion} is given, the update only applies if the stored
+     * version still equals it, so concurrent edits cannot silently overwrite each other.
+     *
+     * @param recipe the new content; its ID selects the document and its version is ignored
+     * @param expectedVersion the version the client last saw, or null to update unconditionally
+     * @return the updated recipe, or empty if it does not exist or its version has changed
+     */
+    Optional<Recipe> replaceIfVersion(Recipe recipe, Long expectedVersion);
+
+    /**
+     * Sets only the given fields of an existing recipe and increments its version in one
+     * atomic update, optionally only if the stored version still equals {@code expectedVersion}.
+     *
+     * @param id the recipe ID
+     * @param changes the validated fields to set, by name (null values clear a field)
+     * @param expectedVersion the version the client last saw, or null to update unconditionally
+     * @return the updated recipe, or empty if it does not exist or its version has changed
+     */
+    Optional<Recipe> patchIfVersion(Integer id, Map<String, Object> changes, Long expectedVersion);
+
+    /**
+     * Deletes a recipe with a single delete command and, if it existed, records a tombstone
+     * so nodes restoring a catalog snapshot learn about the deletion. Unknown IDs cost one
+     * command and leave nothing behind. If the process dies between the two writes, running
+     * instances already learned of the deletion from the change feed.
+     *
+     * @param id the ID of the recipe to delete
+     * @return the number of deleted recipes (0 or 1)
+     */
+    long removeAndRecord(Integer id);
+
+    /**
+     * Records tombstones for recipes that were deleted, with one bulk write.
+     *
+     * @param ids the IDs of the deleted recipes
+     */
+    void recordDeletions(Collection<Integer> ids);
+
+    /**
+     * Streams the recipes written at or after a point in time from a MongoDB cursor,
+     * using the index on {@code modifiedAt}. The stream must be closed by the caller.
+     *
+     * @param since the earliest modification time (epoch millis)
+     * @return a stream of the changed recipes
+     */
+    Stream<Recipe> streamModifiedSince(long since);
+
+    /**
+     * Finds the IDs of recipes deleted at or after a point in time.
+     *
+     * @param since the earliest deletion time (epoch millis)
+     * @return the IDs of the deleted recipes
+     */
+    List<Integer> findDeletedSince(long since);
+}
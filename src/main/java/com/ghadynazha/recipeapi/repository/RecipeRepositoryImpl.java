@@ -0,0 +1,220 @@
+package com.ghadynazha.recipeapi.repository;
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.model.RecipeTombstone;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * {@link MongoTemplate}-backed implementation of {@link RecipeRepositoryCustom}.
+ * Picked up automatically by Spring Data as a fragment of {@link RecipeRepository}.
+ *
+ * Author: Ghady Nazha
+ */
+public class RecipeRepositoryImpl implements RecipeRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructs the repository fragment.
+     *
+     * @param mongoTemplate the template used to run queries
+     */
+    public RecipeRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<Recipe> findPageAfter(String sortBy, Object lastValue, Integer lastId, int limit) {
+        Query query = new Query();
+        boolean byId = "id".equals(sortBy);
+
+        if (lastId != null) {
+            if (byId) {
+                query.addCriteria(where("id").gt(lastId));
+            } else if (lastValue == null) {
+                // Nulls sort first, so everything non-null still follows
+                query.addCriteria(new Criteria().orOperator(
+                        where(sortBy).ne(null),
+                        new Criteria().andOperator(where(sortBy).is(null), where("id").gt(lastId))));
+            } else {
+                query.addCriteria(new Criteria().orOperator(
+                        where(sortBy).gt(lastValue),
+                        new Criteria().andOperator(where(sortBy).is(lastValue), where("id").gt(lastId))));
+            }
+        }
+
+        query.with(byId ? Sort.by("id") : Sort.by(sortBy).and(Sort.by("id")));
+        query.limit(limit);
+        return mongoTemplate.find(query, Recipe.class);
+    }
+
+    @Override
+    public List<Recipe> findAllWithFields(Set<String> fields) {
+        return mongoTemplate.find(withFields(new Query(), fields), Recipe.class);
+    }
+
+    @Override
+    public Page<Recipe> findAllWithFields(Pageable pageable, Set<String> fields) {
+        List<Recipe> content = mongoTemplate.find(withFields(new Query().with(pageable), fields), Recipe.class);
+        return PageableExecutionUtils.getPage(content, pageable, () -> mongoTemplate.count(new Query(), Recipe.class));
+    }
+
+    @Override
+    public List<Recipe> findByTitleWithFields(String title, Set<String> fields) {
+        return mongoTemplate.find(withFields(query(containsIgnoreCase("title", title)), fields), Recipe.class);
+    }
+
+    @Override
+    public List<Recipe> findByCategoryWithFields(String category, Set<String> fields) {
+        return mongoTemplate.find(withFields(query(containsIgnoreCase("category", category)), fields), Recipe.class);
+    }
+
+    @Override
+    public List<Recipe> findAllByIdWithFields(Collection<Integer> ids, Set<String> fields) {
+        return mongoTemplate.find(withFields(query(where("id").in(ids)), fields), Recipe.class);
+    }
+
+    @Override
+    public Optional<Long> findVersionById(Integer id) {
+        Query query = query(where("id").is(id));
+        query.fields().include("version");
+        Recipe found = mongoTemplate.findOne(query, Recipe.class);
+        return Optional.ofNullable(found).map(r -> r.getVersion() == null ? 0L : r.getVersion());
+    }
+
+    @Override
+    public Optional<Recipe> replaceIfVersion(Recipe recipe, Long expectedVersion) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(byIdAndVersion(recipe.getId(), expectedVersion),
+                replacement(recipe), FindAndModifyOptions.options().returnNew(true), Recipe.class));
+    }
+
+    @Override
+    public Optional<Recipe> patchIfVersion(Integer id, Map<String, Object> changes, Long expectedVersion) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(byIdAndVersion(id, expectedVersion),
+                patch(changes), FindAndModifyOptions.options().returnNew(true), Recipe.class));
+    }
+
+    @Override
+    public long removeAndRecord(Integer id) {
+        long deleted = mongoTemplate.remove(query(where("id").is(id)), Recipe.class).getDeletedCount();
+        if (deleted > 0) recordDeletions(List.of(id));
+        return deleted;
+    }
+
+    @Override
+    public void recordDeletions(Collection<Integer> ids) {
+        if (ids.isEmpty()) return;
+        Date now = new Date();
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RecipeTombstone.class);
+        for (Integer id : ids) {
+            ops.upsert(query(where("id").is(id)), Update.update("deletedAt", now));
+        }
+        ops.execute();
+    }
+
+    @Override
+    public Stream<Recipe> streamModifiedSince(long since) {
+        return mongoTemplate.stream(query(where("modifiedAt").gte(since)), Recipe.class);
+    }
+
+    @Override
+    public List<Integer> findDeletedSince(long since) {
+        return mongoTemplate.find(query(where("deletedAt").gte(new Date(since))), RecipeTombstone.class).stream()
+                .map(RecipeTombstone::getId)
+                .toList();
+    }
+
+    /**
+     * Selects a recipe by ID and, if given, by the version it must still have.
+     *
+     * @param id the recipe ID
+     * @param expectedVersion the required version, or null for any version
+     * @return the query
+     */
+    public static Query byIdAndVersion(Integer id, Long expectedVersion) {
+        Query query = query(where("id").is(id));
+        if (expectedVersion != null) {
+            // Unversioned documents have no version field; "is(null)" also matches a missing field
+            query.addCriteria(where("version").is(expectedVersion == 0 ? null : expectedVersion));
+        }
+        return query;
+    }
+
+    /**
+     * Builds an update that sets only the given fields, bumps the version and stamps the modification time.
+     *
+     * @param changes the validated fields to set, by name
+     * @return the update
+     */
+    public static Update patch(Map<String, Object> changes) {
+        Update update = new Update();
+        changes.forEach(update::set);
+        return update.set("modifiedAt", System.currentTimeMillis()).inc("version", 1);
+    }
+
+    /**
+     * Restricts a query to the given fields, always keeping the ID and version (needed for ETags).
+     *
+     * @param query the query to restrict
+     * @param fields the fields to read, or null for whole documents
+     * @return the same query
+     */
+    public static Query withFields(Query query, Set<String> fields) {
+        if (fields != null) {
+            fields.forEach(query.fields()::include);
+            query.fields().include("version");
+        }
+        return query;
+    }
+
+    /**
+     * Matches documents whose field contains the given text, ignoring case,
+     * like the derived {@code ...ContainingIgnoreCase} queries.
+     *
+     * @param field the field to match
+     * @param text the text to look for
+     * @return the criteria
+     */
+    public static Criteria containsIgnoreCase(String field, String text) {
+        return where(field).regex(Pattern.quote(text), "i");
+    }
+
+    /**
+     * Builds an update that overwrites every content field of a recipe, bumps its version
+     * and stamps the modification time.
+     * Shared by single and bulk updates so both keep versions consistent.
+     *
+     * @param recipe the new content
+     * @return the update
+     */
+    public static Update replacement(Recipe recipe) {
+        return new Update()
+                .set("title", recipe.getTitle())
+                .set("ingredients", recipe.getIngredients())
+                .set("instructions", recipe.getInstructions())
+                .set("cookingTime", recipe.getCookingTime())
+                .set("category", recipe.getCategory())
+                .set("modifiedAt", System.currentTimeMillis())
+                .inc("version", 1);
+    }
+}
@@ -1,8 +1,10 @@
 package com.ghadynazha.recipeapi.repository;
 import com.ghadynazha.recipeapi.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for accessing and managing {@link User} documents in MongoDB.
@@ -26,5 +28,14 @@ public interface UserRepository extends MongoRepository<User, String> {
      * @return true if the user exists, false otherwise
      */
     boolean existsById(String id);
+
+    /**
+     * Streams all users with only their usernames loaded.
+     * The returned stream holds an open cursor and must be closed by the caller.
+     *
+     * @return a stream of User objects with just {@code id} and {@code username} set
+     */
+    @Query(value = "{}", fields = "{ 'username' : 1 }")
+    Stream<User> streamUsernamesBy();
 }
 
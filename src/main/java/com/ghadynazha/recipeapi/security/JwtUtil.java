@@ -1,10 +1,21 @@
 package com.ghadynazha.recipeapi.security;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Utility class for creating and validating JWT tokens.
@@ -13,27 +24,79 @@ import java.util.Date;
  * Provides functionality to generate tokens, extract claims,
  * and validate the token structure and signature.
  *
+ * Tokens are verified with a single shared parser, and the claims of tokens that
+ * passed verification are cached (keyed by a SHA-256 hash of the token) until the
+ * token expires, so repeated requests with the same token skip the HMAC check.
+ * Token generation and verification are timed ({@code recipeapi.jwt.generate},
+ * {@code recipeapi.jwt.verify} tagged by outcome: cached, verified or rejected).
+ *
  * Author: Ghady Nazha
  */
 @Component
 public class JwtUtil  {
 
     /**
-     * Default constructor for JwtUtil.
-     * Required by Spring Boot for component injection.
+     * Secret key used to sign and verify JWT tokens.
      */
-    public JwtUtil() {}
+    private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
 
     /**
-     * Secret key used to sign and verify JWT tokens.
+     * Thread-safe parser bound to the signing key, built once.
      */
-    private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
 
     /**
      * Token expiration time in milliseconds (1 day).
      */
     private final long EXPIRATION_TIME = 86400000; // 1 day
 
+    /**
+     * Claims of already-verified tokens, keyed by token hash and evicted at token expiry.
+     */
+    private final Cache<String, Claims> verified;
+
+    private final Timer generateTimer;
+    private final Timer verifyCachedTimer;
+    private final Timer verifyVerifiedTimer;
+    private final Timer verifyRejectedTimer;
+
+    /**
+     * Creates the JwtUtil with a bounded verified-token cache.
+     *
+     * @param verifiedCacheSize the maximum number of verified tokens to remember
+     * @param meterRegistry the registry that receives generation and verification timings
+     */
+    public JwtUtil(@Value("${app.jwt.verified-cache-size:10000}") long verifiedCacheSize,
+                   MeterRegistry meterRegistry) {
+        this.generateTimer = Timer.builder("recipeapi.jwt.generate")
+                .description("Time to build and sign a JWT")
+                .register(meterRegistry);
+        this.verifyCachedTimer = verifyTimer(meterRegistry, "cached");
+        this.verifyVerifiedTimer = verifyTimer(meterRegistry, "verified");
+        this.verifyRejectedTimer = verifyTimer(meterRegistry, "rejected");
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String hash, Claims claims, long currentTime) {
+                        Date exp = claims.getExpiration();
+                        long millis = exp == null ? EXPIRATION_TIME : exp.getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(millis, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String hash, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String hash, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     /**
      * Generates a JWT token with the given username and role.
      *
@@ -42,12 +105,41 @@ public class JwtUtil  {
      * @return a signed JWT token string
      */
     public String generateToken(String username, String role) {
-        return Jwts.builder()
+        long start = System.nanoTime();
+        String token = Jwts.builder()
                 .setSubject(username)
                 .claim("role", role) // ✅ Add role as a claim
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
                 .signWith(key)
                 .compact();
+        generateTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return token;
+    }
+
+    /**
+     * Verifies a token once and returns its claims.
+     * Claims of previously verified, unexpired tokens are served from the cache.
+     *
+     * @param token the JWT token
+     * @return the verified claims, or null if the token is invalid or expired
+     */
+    public Claims verify(String token) {
+        long start = System.nanoTime();
+        String hash = hash(token);
+        Claims claims = verified.getIfPresent(hash);
+        if (claims != null) {
+            verifyCachedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return claims;
+        }
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            verifyRejectedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return null;
+        }
+        verified.put(hash, claims);
+        verifyVerifiedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return claims;
     }
 
     /**
@@ -57,8 +149,7 @@ public class JwtUtil  {
      * @return the username (subject) stored in the token
      */
     public String extractUsername(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        return parser.parseClaimsJws(token).getBody().getSubject();
     }
 
     /**
@@ -68,8 +159,7 @@ public class JwtUtil  {
      * @return the role associated with the token
      */
     public String extractRole(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token).getBody().get("role", String.class);
+        return parser.parseClaimsJws(token).getBody().get("role", String.class);
     }
 
     /**
@@ -79,12 +169,7 @@ public class JwtUtil  {
      * @return true if the token is valid and not expired, false otherwise
      */
     public boolean isTokenValid(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException e) {
-            return false;
-        }
+        return verify(token) != null;
     }
 
     /**
@@ -95,4 +180,23 @@ public class JwtUtil  {
     public Key getKey() {
         return key;
     }
-}
\ No newline at end of file
+
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("recipeapi.jwt.verify")
+                .description("Time to verify a JWT, including the verified-token cache lookup")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hashes a token so the cache never retains raw bearer tokens.
+     */
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.ghadynazha.recipeapi.security;
+import io.jsonwebtoken.Claims;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * WebFlux port of {@link JwtFilter}: authenticates requests carrying a valid JWT
+ * in the Authorization header by placing the principal in the reactive security context.
+ * Skips the same public endpoints as the servlet filter.
+ *
+ * Not a Spring bean on purpose: it is added to the security chain only, so it does not
+ * also run as a global WebFilter.
+ *
+ * Author: Ghady Nazha
+ */
+public class JwtWebFilter implements WebFilter {
+    private final JwtUtil jwtUtil;
+
+    public JwtWebFilter(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().value();
+        if (path.equals("/api/auth/signup")
+                || path.equals("/api/auth/login")
+                || path.startsWith("/swagger-ui")
+                || path.startsWith("/v3/api-docs")) {
+            return chain.filter(exchange);
+        }
+
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+
+        // Verification is CPU-only (and usually a cache hit), so it is safe on the event loop
+        Claims claims = jwtUtil.verify(authHeader.substring(7));
+        if (claims == null || claims.getSubject() == null) {
+            return chain.filter(exchange);
+        }
+
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                claims.getSubject(),
+                null,
+                List.of(new SimpleGrantedAuthority(claims.get("role", String.class)))
+        );
+        return chain.filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authToken));
+    }
+}
@@ -0,0 +1,82 @@
+package com.ghadynazha.recipeapi.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects requests over their route's limit with 429 Too Many Requests and a Retry-After header,
+ * before they reach a controller or the database.
+ *
+ * Runs right after {@link JwtFilter}, so authenticated clients are limited by principal and
+ * anonymous ones by address: the remote address, or the forwarded one when the request comes
+ * from a trusted proxy ({@link RateLimiter#clientAddress}).
+ *
+ * Not a Spring bean on purpose: it is added to the security chain only, so it does not
+ * also run as a global servlet filter.
+ *
+ * Author: Ghady Nazha
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String client = auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)
+                ? "user:" + auth.getName()
+                : "ip:" + rateLimiter.clientAddress(request.getRemoteAddr(),
+                        Collections.list(request.getHeaders(FORWARDED_FOR)));
+
+        long waitNanos = rateLimiter.acquire(path(request), client);
+        if (waitNanos > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(waitNanos)));
+            response.setContentType("text/plain");
+            response.getWriter().write("Too many requests");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Returns the decoded, normalized path the request is dispatched on, without the context path,
+     * so encoded or dot-segment variants of a route cannot escape its limit.
+     *
+     * @param request the request
+     * @return the servlet path followed by the path info, if any
+     */
+    static String path(HttpServletRequest request) {
+        String pathInfo = request.getPathInfo();
+        return pathInfo == null ? request.getServletPath() : request.getServletPath() + pathInfo;
+    }
+
+    /**
+     * Rounds a wait up to whole seconds, as Retry-After requires.
+     *
+     * @param waitNanos the time until a token is available
+     * @return the Retry-After value, at least 1
+     */
+    static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,42 @@
+package com.ghadynazha.recipeapi.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Per-route request limits, bound from {@code app.rate-limit.*}.
+ *
+ * Each route allows a burst of {@code capacity} requests per client, refilled evenly over
+ * {@code period}. Routes are matched in order against the request path and the first match wins;
+ * paths that match no route are not limited.
+ *
+ * Anonymous clients are limited by address. X-Forwarded-For is only honored on requests coming
+ * from {@code trustedProxies}; otherwise any client could pick a fresh address per request.
+ *
+ * Author: Ghady Nazha
+ *
+ * @param enabled whether requests are limited at all
+ * @param maxClients the maximum number of client buckets kept in memory
+ * @param routes the limited routes, most specific first
+ * @param trustedProxies addresses or CIDR ranges of reverse proxies whose X-Forwarded-For is believed; empty to ignore the header
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") long maxClients,
+        @DefaultValue List<Route> routes,
+        @DefaultValue List<String> trustedProxies) {
+
+    /**
+     * A limited route.
+     *
+     * @param pattern the path pattern, e.g. {@code /api/recipes/search} or {@code /api/**}
+     * @param capacity the number of requests a client may burst
+     * @param period the time over which a fully drained bucket refills
+     */
+    public record Route(String pattern, int capacity, Duration period) {
+    }
+}
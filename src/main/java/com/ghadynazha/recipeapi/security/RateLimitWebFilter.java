@@ -0,0 +1,77 @@
+package com.ghadynazha.recipeapi.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * WebFlux port of {@link RateLimitFilter}: answers requests over their route's limit with
+ * 429 Too Many Requests and a Retry-After header. Bucket checks are lock-free and CPU-only,
+ * so they run on the event loop.
+ *
+ * Not a Spring bean on purpose: it is added to the security chain only, so it does not
+ * also run as a global WebFilter.
+ *
+ * Author: Ghady Nazha
+ */
+public class RateLimitWebFilter implements WebFilter {
+    private final RateLimiter rateLimiter;
+
+    public RateLimitWebFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        String peer = remote == null ? "unknown"
+                : remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString();
+        String anonymous = "ip:" + rateLimiter.clientAddress(peer,
+                exchange.getRequest().getHeaders().get(RateLimitFilter.FORWARDED_FOR));
+
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(auth -> auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken))
+                .map(auth -> "user:" + auth.getName())
+                .defaultIfEmpty(anonymous)
+                .flatMap(client -> {
+                    long waitNanos = rateLimiter.acquire(path(exchange.getRequest()), client);
+                    if (waitNanos == 0) {
+                        return chain.filter(exchange);
+                    }
+                    ServerHttpResponse response = exchange.getResponse();
+                    response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                    response.getHeaders().set(HttpHeaders.RETRY_AFTER,
+                            String.valueOf(RateLimitFilter.retryAfterSeconds(waitNanos)));
+                    return response.writeWith(Mono.just(response.bufferFactory()
+                            .wrap("Too many requests".getBytes(StandardCharsets.UTF_8))));
+                });
+    }
+
+    /**
+     * Returns the decoded request path without the context path and matrix parameters,
+     * matching what {@link RateLimitFilter#path} sees on the servlet stack.
+     *
+     * @param request the request
+     * @return the decoded path within the application
+     */
+    static String path(ServerHttpRequest request) {
+        StringBuilder path = new StringBuilder();
+        for (PathContainer.Element element : request.getPath().pathWithinApplication().elements()) {
+            path.append(element instanceof PathContainer.PathSegment segment ? segment.valueToMatch() : element.value());
+        }
+        return path.toString();
+    }
+}
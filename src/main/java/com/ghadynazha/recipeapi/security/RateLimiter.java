@@ -0,0 +1,161 @@
+package com.ghadynazha.recipeapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free per-client token buckets for the routes configured in {@link RateLimitProperties}.
+ *
+ * Each bucket is a single {@link AtomicLong} holding its theoretical arrival time (the generic cell
+ * rate algorithm, which behaves exactly like a token bucket of {@code capacity} tokens refilled
+ * evenly over {@code period}); a request is admitted with one compare-and-set and no locks.
+ * Buckets live in a Caffeine cache bounded by {@code maxClients} and expire once idle for the
+ * longest configured period, by which time they would have refilled anyway, so memory does not
+ * grow with the number of distinct clients.
+ *
+ * Author: Ghady Nazha
+ */
+@Component
+public class RateLimiter {
+    private static final PathContainer.Options PATH_OPTIONS = PathContainer.Options.create('/', false);
+
+    private final boolean enabled;
+    private final List<CompiledRoute> routes = new ArrayList<>();
+    private final List<IpAddressMatcher> trustedProxies;
+    private final Cache<String, AtomicLong> buckets;
+
+    /**
+     * Constructs the RateLimiter from the configured routes.
+     *
+     * @param properties the configured limits
+     * @param meterRegistry the registry that receives rejection counts per route
+     */
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.trustedProxies = properties.trustedProxies().stream().map(IpAddressMatcher::new).toList();
+        Duration longestPeriod = Duration.ofSeconds(1);
+        for (int i = 0; i < properties.routes().size(); i++) {
+            RateLimitProperties.Route route = properties.routes().get(i);
+            if (route.capacity() < 1 || route.period() == null || route.period().isNegative() || route.period().isZero()) {
+                throw new IllegalArgumentException("app.rate-limit.routes[" + i + "] needs a capacity of at least 1 and a positive period");
+            }
+            long periodNanos = route.period().toNanos();
+            routes.add(new CompiledRoute(
+                    i,
+                    PathPatternParser.defaultInstance.parse(route.pattern()),
+                    periodNanos / route.capacity(),
+                    periodNanos,
+                    Counter.builder("recipeapi.ratelimit.rejected")
+                            .description("Requests rejected by the rate limiter")
+                            .tag("route", route.pattern())
+                            .register(meterRegistry)));
+            if (route.period().compareTo(longestPeriod) > 0) {
+                longestPeriod = route.period();
+            }
+        }
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxClients())
+                .expireAfterAccess(longestPeriod)
+                .build();
+    }
+
+    /**
+     * Takes one token from the client's bucket for the route matching the path.
+     *
+     * @param path the decoded request path within the application (without the context path)
+     * @param client the principal name, or the remote address for anonymous requests
+     * @return 0 if the request is admitted, otherwise the nanoseconds until a token is available
+     */
+    public long acquire(String path, String client) {
+        if (!enabled || routes.isEmpty()) return 0;
+        CompiledRoute route = match(path);
+        if (route == null) return 0;
+
+        AtomicLong bucket = buckets.get(route.index + ":" + client, k -> new AtomicLong(Long.MIN_VALUE));
+        long now = System.nanoTime();
+        while (true) {
+            long tat = bucket.get();
+            long newTat = Math.max(tat, now) + route.intervalNanos;
+            long admitAt = newTat - route.periodNanos;
+            if (admitAt > now) {
+                route.rejected.increment();
+                return admitAt - now;
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the address an anonymous request is limited by. Starting from the peer, each trusted
+     * proxy is replaced by the address it forwarded for (the rightmost X-Forwarded-For entry not yet
+     * used), so only the hops appended by trusted proxies are believed and a client cannot choose its own key.
+     *
+     * @param remoteAddress the address of the connected peer
+     * @param forwardedFor the X-Forwarded-For header values, in order, or null if absent
+     * @return the client address
+     */
+    public String clientAddress(String remoteAddress, List<String> forwardedFor) {
+        if (trustedProxies.isEmpty() || forwardedFor == null || !isTrustedProxy(remoteAddress)) return remoteAddress;
+        List<String> hops = new ArrayList<>();
+        for (String value : forwardedFor) {
+            for (String hop : value.split(",")) {
+                if (!hop.isBlank()) hops.add(hop.trim());
+            }
+        }
+        String client = remoteAddress;
+        for (int i = hops.size() - 1; i >= 0 && isTrustedProxy(client); i--) {
+            client = hops.get(i);
+        }
+        return client;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        try {
+            for (IpAddressMatcher proxy : trustedProxies) {
+                if (proxy.matches(address)) return true;
+            }
+        } catch (IllegalArgumentException e) {
+            // Not an IP address
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of client buckets currently held.
+     *
+     * @return the approximate bucket count
+     */
+    public long size() {
+        return buckets.estimatedSize();
+    }
+
+    private CompiledRoute match(String path) {
+        // The path is already decoded; decoding it again would let "%2561" match as "a"
+        PathContainer container = PathContainer.parsePath(path, PATH_OPTIONS);
+        for (CompiledRoute route : routes) {
+            if (route.pattern.matches(container)) return route;
+        }
+        return null;
+    }
+
+    /**
+     * A route with its parsed pattern and the emission interval of its bucket.
+     */
+    private record CompiledRoute(int index, PathPattern pattern, long intervalNanos, long periodNanos,
+                                 Counter rejected) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.ghadynazha.recipeapi.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher.MatchResult;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Spring Security configuration for the "reactive" (WebFlux) profile.
+ * Applies the same access rules as {@link SecurityConfig}, with {@link JwtWebFilter}
+ * and {@link RateLimitWebFilter} in place of the servlet filters.
+ *
+ * Author: Ghady Nazha
+ */
+@Profile("reactive & !test")
+@Configuration
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    private final JwtUtil jwtUtil;
+    private final RateLimiter rateLimiter;
+    private final int managementPort;
+
+    public ReactiveSecurityConfig(JwtUtil jwtUtil, RateLimiter rateLimiter,
+                                  @Value("${management.server.port:-1}") int managementPort) {
+        this.jwtUtil = jwtUtil;
+        this.rateLimiter = rateLimiter;
+        this.managementPort = managementPort;
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        // The metrics scrape is only public on the separate management port, never on the API port
+        ServerWebExchangeMatcher scrape = exchange -> {
+            InetSocketAddress local = exchange.getRequest().getLocalAddress();
+            return local != null && local.getPort() == managementPort
+                    && "/actuator/prometheus".equals(exchange.getRequest().getPath().value())
+                    ? MatchResult.match()
+                    : MatchResult.notMatch();
+        };
+
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+
+                .authorizeExchange(auth -> auth
+                        // ── BULK WRITES AND IMPORTS NEED AUTH (before the public recipe rule) ──
+                        .pathMatchers(HttpMethod.POST, "/api/recipes/import", "/api/recipes/bulk").authenticated()
+                        .pathMatchers(HttpMethod.PUT, "/api/recipes/bulk").authenticated()
+                        .pathMatchers(HttpMethod.DELETE, "/api/recipes/bulk").authenticated()
+
+                        // ── PUBLIC ENDPOINTS ────────────────────────────────
+                        .pathMatchers(
+                                "/",
+                                "/swagger-ui/**",
+                                "/v3/api-docs/**",
+                                "/api/auth/signup",
+                                "/api/auth/login",
+                                "/api/recipes/**",
+                                "/actuator/health"
+                        ).permitAll()
+                        .matchers(scrape).permitAll()
+
+                        // ── ADMIN-ONLY ENDPOINTS ───────────────────────────
+                        .pathMatchers("/api/auth/all-users", "/api/admin/**", "/actuator/**").hasAuthority("ADMIN")
+
+                        // ── EVERYTHING ELSE NEEDS AUTH ─────────────────────
+                        .anyExchange().authenticated()
+                )
+
+                .addFilterAt(new JwtWebFilter(jwtUtil), SecurityWebFiltersOrder.AUTHENTICATION)
+                .addFilterBefore(new RateLimitWebFilter(rateLimiter), SecurityWebFiltersOrder.AUTHORIZATION)
+
+                .build();
+    }
+}
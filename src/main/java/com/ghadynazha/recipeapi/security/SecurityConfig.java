@@ -1,24 +1,32 @@
 package com.ghadynazha.recipeapi.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 /**
  * Spring Security configuration.
  *
  * – Permits public access to signup/login, Swagger UI, OpenAPI docs, the root “/”
  *   landing page, and all recipe‐read endpoints.
- * – Restricts `/api/auth/all-users` to ADMINs.
+ * – Bulk writes and streaming imports under `/api/recipes` require a valid JWT.
+ * – Restricts `/api/auth/all-users`, `/api/admin/**` and `/actuator/**` to ADMINs;
+ *   only `/actuator/prometheus` on the management port is open, for scrapers.
  * – All other endpoints require a valid JWT.
+ * – Requests over their route's rate limit get 429 Too Many Requests.
  *
  * Author: Ghady Nazha
  */
-@Profile("!test")          // Skip this config when the “test” profile is active
+@Profile("!test & !reactive")   // Skip when testing; ReactiveSecurityConfig covers WebFlux
 @Configuration
 @EnableWebSecurity
 
@@ -26,18 +34,32 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtFilter jwtFilter;
+    private final RateLimiter rateLimiter;
+    private final int managementPort;
 
-    public SecurityConfig(JwtFilter jwtFilter) {
+    public SecurityConfig(JwtFilter jwtFilter, RateLimiter rateLimiter,
+                          @Value("${management.server.port:-1}") int managementPort) {
         this.jwtFilter = jwtFilter;
+        this.rateLimiter = rateLimiter;
+        this.managementPort = managementPort;
     }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
 
+        // The metrics scrape is only public on the separate management port, never on the API port
+        RequestMatcher scrape = request -> request.getLocalPort() == managementPort
+                && "/actuator/prometheus".equals(request.getRequestURI());
+
         return http
                 .csrf(csrf -> csrf.disable())                     // REST-style API → CSRF off
 
                 .authorizeHttpRequests(auth -> auth
+                        // ── BULK WRITES AND IMPORTS NEED AUTH (before the public recipe rule) ──
+                        .requestMatchers(HttpMethod.POST, "/api/recipes/import", "/api/recipes/bulk").authenticated()
+                        .requestMatchers(HttpMethod.PUT, "/api/recipes/bulk").authenticated()
+                        .requestMatchers(HttpMethod.DELETE, "/api/recipes/bulk").authenticated()
+
                         // ── PUBLIC ENDPOINTS ────────────────────────────────
                         .requestMatchers(
                                 "/",                                   // Home / health message
@@ -45,19 +67,27 @@ public class SecurityConfig {
                                 "/v3/api-docs/**",                     // OpenAPI spec
                                 "/api/auth/signup",
                                 "/api/auth/login",
-                                "/api/recipes/**"                      // GET/search recipes
+                                "/api/recipes/**",                     // GET/search recipes
+                                "/actuator/health"                     // Liveness
                         ).permitAll()
+                        .requestMatchers(scrape).permitAll()           // Metrics scrape (management port)
 
                         // ── ADMIN-ONLY ENDPOINTS ───────────────────────────
-                        .requestMatchers("/api/auth/all-users").hasAuthority("ADMIN")
+                        .requestMatchers("/api/auth/all-users", "/api/admin/**", "/actuator/**").hasAuthority("ADMIN")
 
                         // ── EVERYTHING ELSE NEEDS AUTH ─────────────────────
                         .anyRequest().authenticated()
                 )
 
+                // Missing or invalid token → 401 (authenticated but not allowed stays 403)
+                .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+
                 // Attach custom JWT filter before the username/password filter
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
 
+                // Per-client rate limits, applied once the principal (if any) is known
+                .addFilterAfter(new RateLimitFilter(rateLimiter), JwtFilter.class)
+
                 .build();
     }
 }
\ No newline at end of file
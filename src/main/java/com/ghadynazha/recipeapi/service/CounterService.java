@@ -1,44 +1,154 @@
 package com.ghadynazha.recipeapi.service;
 
 import com.ghadynazha.recipeapi.model.Counter;
-import com.ghadynazha.recipeapi.repository.CounterRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
 /**
  * Service class for generating auto-incrementing sequence numbers.
  *
- * This service fetches and updates a {@link Counter} document in the database
- * to produce unique, incremental IDs for entities like users or recipes.
+ * IDs are reserved from the {@link Counter} document in blocks using a single atomic
+ * {@code $inc} (find-and-modify), then handed out from memory without locking.
+ * Only the thread that exhausts a block goes back to the database, so concurrent
+ * callers never receive the same ID, even across several application instances.
+ *
+ * Unused IDs of a block are lost when the application stops, so sequences may have gaps.
+ * Refills are guarded by a {@link ReentrantLock} rather than {@code synchronized}, so a
+ * virtual thread waiting on the database does not pin its carrier thread.
+ *
+ * Allocation latency is timed per counter ({@code recipeapi.counter.allocate}), and so are
+ * the database reservations behind it ({@code recipeapi.counter.reserve}).
  *
  * Author: Ghady Nazha
  */
 @Service
 public class CounterService {
 
-    private final CounterRepository counterRepo;
+    private final MongoTemplate mongoTemplate;
+    private final int blockSize;
+    private final Map<String, AtomicReference<IdBlock>> blocks = new ConcurrentHashMap<>();
+    private final Map<String, ReentrantLock> refillLocks = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> allocateTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> reserveTimers = new ConcurrentHashMap<>();
 
     /**
-     * Constructs the CounterService with the required repository.
+     * Constructs the CounterService with the required dependencies.
      *
-     * @param counterRepo the repository for managing {@link Counter} documents
+     * @param mongoTemplate the template used to atomically reserve ID blocks
+     * @param blockSize the number of IDs reserved per database round trip
+     * @param meterRegistry the registry that receives allocation timings
      */
-    public CounterService(CounterRepository counterRepo) {
-        this.counterRepo = counterRepo;
+    public CounterService(MongoTemplate mongoTemplate,
+                          @Value("${app.counter.block-size:50}") int blockSize,
+                          MeterRegistry meterRegistry) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("app.counter.block-size must be at least 1");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.blockSize = blockSize;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
      * Returns the next sequence number for the given counter ID.
-     * If the counter doesn't exist, initializes it with 0.
+     * If the counter doesn't exist, it is created on the first reservation.
      *
      * @param id the unique identifier for the counter (e.g., "user", "recipe")
-     * @return the next incremented sequence value
+     * @return the next unique sequence value
      */
     public int getNextSequence(String id) {
-        Counter counter = counterRepo.findById(id).orElse(new Counter(id, 0));
-        counter.setSeq(counter.getSeq() + 1);
-        counterRepo.save(counter);
-        return counter.getSeq();
+        long start = System.nanoTime();
+        AtomicReference<IdBlock> ref = blocks.computeIfAbsent(id, k -> new AtomicReference<>());
+        while (true) {
+            IdBlock block = ref.get();
+            if (block != null) {
+                int next = block.next.getAndIncrement();
+                if (next <= block.last) {
+                    timer(allocateTimers, "recipeapi.counter.allocate", id)
+                            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    return next;
+                }
+            }
+            ReentrantLock lock = refillLocks.computeIfAbsent(id, k -> new ReentrantLock());
+            lock.lock();
+            try {
+                // Another thread may already have replaced the exhausted block
+                if (ref.get() == block) {
+                    ref.set(reserve(id, blockSize));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
     }
-}
 
+    /**
+     * Reserves {@code count} consecutive sequence numbers in a single database round trip.
+     * The range is taken directly from the counter and does not consume the in-memory block.
+     *
+     * @param id the unique identifier for the counter (e.g., "recipe")
+     * @param count the number of IDs to reserve (at least 1)
+     * @return the first ID of the reserved range; the range ends at {@code first + count - 1}
+     */
+    public int reserveRange(String id, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be at least 1");
+        }
+        return reserve(id, count).next.get();
+    }
 
+    /**
+     * Atomically reserves {@code count} consecutive IDs for the given counter.
+     *
+     * @param id the counter identifier
+     * @param count the number of IDs to reserve
+     * @return the reserved block
+     */
+    private IdBlock reserve(String id, int count) {
+        long start = System.nanoTime();
+        Counter counter = mongoTemplate.findAndModify(
+                query(where("_id").is(id)),
+                new Update().inc("seq", count),
+                FindAndModifyOptions.options().returnNew(true).upsert(true),
+                Counter.class);
+        timer(reserveTimers, "recipeapi.counter.reserve", id).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        int last = counter.getSeq();
+        return new IdBlock(last - count + 1, last);
+    }
+
+    /**
+     * Returns the timer with the given name for a counter, registering it on first use.
+     */
+    private Timer timer(Map<String, Timer> timers, String name, String counterId) {
+        return timers.computeIfAbsent(counterId, k -> Timer.builder(name).tag("counter", k).register(meterRegistry));
+    }
+
+    /**
+     * A range of reserved IDs handed out in order by an atomic cursor.
+     */
+    private static final class IdBlock {
+        private final AtomicInteger next;
+        private final int last;
+
+        private IdBlock(int first, int last) {
+            this.next = new AtomicInteger(first);
+            this.last = last;
+        }
+    }
+}
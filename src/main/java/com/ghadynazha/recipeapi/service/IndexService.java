@@ -0,0 +1,138 @@
+package com.ghadynazha.recipeapi.service;
+
+import com.ghadynazha.recipeapi.model.Counter;
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.model.RecipeTombstone;
+import com.ghadynazha.recipeapi.model.User;
+import com.mongodb.MongoException;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service that creates the declared MongoDB indexes and reports how they are used.
+ *
+ * At startup, the indexes declared on {@link Recipe}, {@link RecipeTombstone}, {@link User} and {@link Counter}
+ * (e.g., {@code @CompoundIndex}, {@code @Indexed}) are created explicitly, before any
+ * request is served, instead of relying on automatic index creation. The report combines
+ * per-index access counts ({@code $indexStats}) with the server's collection-scan counter
+ * and, when the database profiler is on, the most recent queries that scanned a collection.
+ *
+ * Author: Ghady Nazha
+ */
+@Service
+public class IndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexService.class);
+
+    private static final List<Class<?>> DOCUMENTS = List.of(Recipe.class, RecipeTombstone.class, User.class, Counter.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructs the IndexService with the required dependencies.
+     *
+     * @param mongoTemplate the template used for index and diagnostic commands
+     */
+    public IndexService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Creates every declared index that does not exist yet. Runs before the in-memory
+     * indexes are loaded; a failure (e.g., duplicate values for a unique index) stops startup.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    @Order(0)
+    public void ensureIndexes() {
+        MongoMappingContext mappingContext = (MongoMappingContext) mongoTemplate.getConverter().getMappingContext();
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        for (Class<?> type : DOCUMENTS) {
+            IndexOperations ops = mongoTemplate.indexOps(type);
+            resolver.resolveIndexFor(type).forEach(index -> {
+                String name = ops.ensureIndex(index);
+                log.info("Ensured index {} on {}", name, mongoTemplate.getCollectionName(type));
+            });
+        }
+    }
+
+    /**
+     * Reports index usage per collection and queries that fell back to collection scans.
+     *
+     * Each section reports "unavailable" with the reason if the server refuses the command.
+     *
+     * @return the report: "collections" (index name to access count and since),
+     *         "collectionScans" (server-wide counter) and "recentCollectionScans" (from the profiler)
+     */
+    public Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<>();
+
+        Map<String, Object> collections = new LinkedHashMap<>();
+        for (Class<?> type : DOCUMENTS) {
+            String collection = mongoTemplate.getCollectionName(type);
+            try {
+                List<Map<String, Object>> indexes = new ArrayList<>();
+                for (Document stats : mongoTemplate.getCollection(collection)
+                        .aggregate(List.of(new Document("$indexStats", new Document())))) {
+                    Map<String, Object> index = new LinkedHashMap<>();
+                    index.put("name", stats.getString("name"));
+                    index.put("key", stats.get("key"));
+                    index.put("ops", stats.getEmbedded(List.of("accesses", "ops"), Object.class));
+                    index.put("since", stats.getEmbedded(List.of("accesses", "since"), Object.class));
+                    indexes.add(index);
+                }
+                collections.put(collection, indexes);
+            } catch (MongoException e) {
+                // $indexStats needs the indexStats privilege and is not supported by every deployment
+                collections.put(collection, "unavailable: " + e.getMessage());
+            }
+        }
+        report.put("collections", collections);
+
+        try {
+            Document status = mongoTemplate.getDb().runCommand(new Document("serverStatus", 1));
+            Document scans = status.getEmbedded(List.of("metrics", "queryExecutor", "collectionScans"), Document.class);
+            // Older servers and some managed deployments do not report the counter
+            report.put("collectionScans", scans != null ? scans : "unavailable: not reported by this server");
+        } catch (MongoException e) {
+            report.put("collectionScans", "unavailable: " + e.getMessage());
+        }
+
+        try {
+            Document level = mongoTemplate.getDb().runCommand(new Document("profile", -1));
+            report.put("profilerLevel", level.get("was"));
+            List<Map<String, Object>> recent = new ArrayList<>();
+            for (Document op : mongoTemplate.getCollection("system.profile")
+                    .find(new Document("planSummary", "COLLSCAN"))
+                    .sort(new Document("ts", -1))
+                    .limit(20)) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("ts", op.get("ts"));
+                entry.put("ns", op.get("ns"));
+                entry.put("op", op.get("op"));
+                entry.put("command", op.get("command"));
+                entry.put("docsExamined", op.get("docsExamined"));
+                entry.put("millis", op.get("millis"));
+                recent.add(entry);
+            }
+            report.put("recentCollectionScans", recent);
+        } catch (MongoException e) {
+            report.put("recentCollectionScans", "unavailable: " + e.getMessage());
+        }
+        return report;
+    }
+}
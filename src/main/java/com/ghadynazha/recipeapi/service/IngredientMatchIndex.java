@@ -0,0 +1,244 @@
+package com.ghadynazha.recipeapi.service;
+
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.util.Tokenizer;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index answering "which recipes can I cook with these ingredients?".
+ *
+ * Ingredient names are normalized and mapped to dictionary entries, each holding a
+ * compressed bitmap of the recipe IDs that use it. Recipes are also grouped into bitmaps
+ * by their number of distinct ingredients. A query adds up the bitmaps of the available
+ * ingredients into a bit-sliced counter, so the number of matched ingredients for every
+ * recipe is computed with bitwise operations only, and recipes are then selected and
+ * ranked by coverage without visiting non-matching recipes.
+ *
+ * Author: Ghady Nazha
+ */
+@Service
+public class IngredientMatchIndex implements RecipeIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, RoaringBitmap> recipesByIngredient = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> recipesBySize = new HashMap<>();
+    private final Map<Integer, Set<String>> ingredientsById = new HashMap<>();
+
+    /**
+     * A recipe that can be cooked with the given ingredients.
+     *
+     * @param id the recipe ID
+     * @param matched how many of its ingredients are available
+     * @param total how many distinct ingredients it needs
+     */
+    public record Match(int id, int matched, int total) {
+        /**
+         * @return the number of ingredients that are not available
+         */
+        public int missing() {
+            return total - matched;
+        }
+
+        /**
+         * @return the fraction of needed ingredients that are available
+         */
+        public double coverage() {
+            return (double) matched / total;
+        }
+    }
+
+    /**
+     * Default constructor for IngredientMatchIndex.
+     */
+    public IngredientMatchIndex() {}
+
+    /**
+     * Normalizes an ingredient name for matching: lowercase, no diacritics, single spaces.
+     *
+     * @param ingredient the raw ingredient name
+     * @return the normalized name, empty if it has no letters or digits
+     */
+    public static String normalize(String ingredient) {
+        return String.join(" ", Tokenizer.tokenize(ingredient));
+    }
+
+    @Override
+    public void index(Recipe recipe) {
+        Set<String> ingredients = new LinkedHashSet<>();
+        if (recipe.getIngredients() != null) {
+            for (String raw : recipe.getIngredients()) {
+                String name = normalize(raw);
+                if (!name.isEmpty()) ingredients.add(name);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            unindex(recipe.getId());
+            if (ingredients.isEmpty()) return;
+
+            int id = recipe.getId();
+            for (String name : ingredients) {
+                recipesByIngredient.computeIfAbsent(name, k -> new RoaringBitmap()).add(id);
+            }
+            recipesBySize.computeIfAbsent(ingredients.size(), k -> new RoaringBitmap()).add(id);
+            ingredientsById.put(id, ingredients);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Integer id) {
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds recipes that use at least one of the given ingredients and miss at most
+     * {@code maxMissing} of their own, ordered by coverage (then fewest missing).
+     *
+     * @param available the ingredients at hand
+     * @param maxMissing the maximum number of missing ingredients allowed
+     * @param limit the maximum number of matches to return
+     * @return the best matches, best first
+     */
+    public List<Match> match(Collection<String> available, int maxMissing, int limit) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String raw : available) {
+            String name = normalize(raw);
+            if (!name.isEmpty()) names.add(name);
+        }
+        if (names.isEmpty() || limit < 1) return List.of();
+
+        lock.readLock().lock();
+        try {
+            // Bit-sliced counter: bit i of a recipe's match count lives in slices[i]
+            List<RoaringBitmap> slices = new ArrayList<>();
+            for (String name : names) {
+                RoaringBitmap carry = recipesByIngredient.get(name);
+                if (carry == null) continue;
+                carry = carry.clone();
+                for (int i = 0; !carry.isEmpty(); i++) {
+                    if (i == slices.size()) {
+                        slices.add(carry);
+                        break;
+                    }
+                    RoaringBitmap slice = slices.get(i);
+                    RoaringBitmap nextCarry = RoaringBitmap.and(slice, carry);
+                    slices.set(i, RoaringBitmap.xor(slice, carry));
+                    carry = nextCarry;
+                }
+            }
+            if (slices.isEmpty()) return List.of();
+
+            // Group hits by (total, matched), then emit groups from best coverage down
+            List<Match> groups = new ArrayList<>();
+            Map<Match, RoaringBitmap> members = new HashMap<>();
+            int maxMatched = (1 << slices.size()) - 1;
+            for (Map.Entry<Integer, RoaringBitmap> bucket : recipesBySize.entrySet()) {
+                int total = bucket.getKey();
+                int lowest = Math.max(1, total - Math.max(maxMissing, 0));
+                RoaringBitmap atLeast = RoaringBitmap.and(bucket.getValue(), atLeast(slices, lowest));
+                for (int matched = Math.min(total, maxMatched); matched >= lowest && !atLeast.isEmpty(); matched--) {
+                    RoaringBitmap exactly = RoaringBitmap.and(atLeast, atLeast(slices, matched));
+                    if (exactly.isEmpty()) continue;
+                    Match group = new Match(0, matched, total);
+                    groups.add(group);
+                    members.put(group, exactly);
+                    atLeast.andNot(exactly);
+                }
+            }
+            groups.sort(Comparator.comparingDouble(Match::coverage).reversed()
+                    .thenComparingInt(Match::missing));
+
+            List<Match> matches = new ArrayList<>();
+            for (Match group : groups) {
+                for (int id : members.get(group)) {
+                    if (matches.size() == limit) return matches;
+                    matches.add(new Match(id, group.matched(), group.total()));
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the normalized ingredients of an indexed recipe.
+     *
+     * @param id the recipe ID
+     * @return the recipe's distinct normalized ingredients, empty if not indexed
+     */
+    public Set<String> ingredientsOf(int id) {
+        lock.readLock().lock();
+        try {
+            return Collections.unmodifiableSet(ingredientsById.getOrDefault(id, Set.of()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Computes the recipes whose bit-sliced count is at least {@code threshold} (which must be 1 or more).
+     * Walks the slices from the most significant bit down, tracking recipes already greater
+     * than the threshold and those still equal to it on the bits seen so far.
+     */
+    private static RoaringBitmap atLeast(List<RoaringBitmap> slices, int threshold) {
+        RoaringBitmap greater = new RoaringBitmap();
+        RoaringBitmap equal = null;
+        if (threshold >= 1 << slices.size()) return greater;
+
+        for (int i = slices.size() - 1; i >= 0; i--) {
+            RoaringBitmap slice = slices.get(i);
+            if (equal == null) {
+                // Every recipe starts equal to the threshold on the (empty) higher bits
+                equal = ((threshold >> i) & 1) == 1 ? slice.clone() : null;
+                if (equal == null) {
+                    greater.or(slice);
+                }
+                continue;
+            }
+            if (((threshold >> i) & 1) == 1) {
+                equal.and(slice);
+            } else {
+                greater.or(RoaringBitmap.and(equal, slice));
+                equal.andNot(slice);
+            }
+        }
+        return equal == null ? greater : RoaringBitmap.or(greater, equal);
+    }
+
+    /**
+     * Removes a recipe from every bitmap. Caller must hold the write lock.
+     */
+    private void unindex(Integer id) {
+        Set<String> old = ingredientsById.remove(id);
+        if (old == null) return;
+        for (String name : old) {
+            RoaringBitmap recipes = recipesByIngredient.get(name);
+            recipes.remove(id);
+            if (recipes.isEmpty()) recipesByIngredient.remove(name);
+        }
+        RoaringBitmap sized = recipesBySize.get(old.size());
+        sized.remove(id);
+        if (sized.isEmpty()) recipesBySize.remove(old.size());
+    }
+}
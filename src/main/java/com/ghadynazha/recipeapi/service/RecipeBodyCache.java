@@ -0,0 +1,124 @@
+package com.ghadynazha.recipeapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.util.ETags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bounded cache of encoded single-recipe response bodies.
+ *
+ * Each entry holds the JSON bytes of one recipe version and, for bodies large enough
+ * to benefit, a gzip copy. Hot recipes are therefore serialized and compressed once per
+ * version instead of once per request, and the bytes are written to the response as-is.
+ * An entry is only served for the exact version it was encoded from, and as a
+ * {@link RecipeIndex} the cache also drops entries when a recipe is saved or deleted.
+ *
+ * Author: Ghady Nazha
+ */
+@Service
+public class RecipeBodyCache implements RecipeIndex {
+
+    /**
+     * The encoded forms of one recipe version.
+     *
+     * @param version the recipe version the bytes were encoded from
+     * @param json the UTF-8 JSON body
+     * @param gzip the gzip-compressed JSON body, or null if the body is too small to compress
+     */
+    public record Body(long version, byte[] json, byte[] gzip) {}
+
+    private final ObjectMapper objectMapper;
+    private final int gzipMinBytes;
+    private final Cache<Integer, Body> cache;
+
+    /**
+     * Constructs the RecipeBodyCache with the required dependencies.
+     *
+     * @param objectMapper the mapper used for all JSON responses, so cached bytes match uncached ones
+     * @param maxBytes the approximate heap budget for cached bodies
+     * @param gzipMinBytes the smallest JSON body that is also stored compressed
+     */
+    public RecipeBodyCache(ObjectMapper objectMapper,
+                           @Value("${app.cache.recipe-bodies.max-bytes:33554432}") long maxBytes,
+                           @Value("${app.cache.recipe-bodies.gzip-min-bytes:1024}") int gzipMinBytes) {
+        this.objectMapper = objectMapper;
+        this.gzipMinBytes = gzipMinBytes;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Integer id, Body body) ->
+                        64 + body.json().length + (body.gzip() == null ? 0 : body.gzip().length))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the encoded body of a recipe, encoding it if this version is not cached yet.
+     *
+     * @param recipe the recipe to encode
+     * @return the cached or newly encoded body
+     */
+    public Body get(Recipe recipe) {
+        long version = ETags.version(recipe);
+        Body body = cache.getIfPresent(recipe.getId());
+        if (body == null || body.version() != version) {
+            body = encode(recipe, version);
+            cache.put(recipe.getId(), body);
+        }
+        return body;
+    }
+
+    @Override
+    public void index(Recipe recipe) {
+        cache.invalidate(recipe.getId());
+    }
+
+    @Override
+    public void remove(Integer id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * Reports the hit ratio and size of the body cache since startup.
+     *
+     * @return a map of statistic names to values
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("entries", cache.estimatedSize());
+        report.put("hitRatio", cache.stats().hitRate());
+        report.put("evictions", cache.stats().evictionCount());
+        return report;
+    }
+
+    private Body encode(Recipe recipe, long version) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(recipe);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize recipe " + recipe.getId(), e);
+        }
+        return new Body(version, json, json.length >= gzipMinBytes ? gzip(json) : null);
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 32);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
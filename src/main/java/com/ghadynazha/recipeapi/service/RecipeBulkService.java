@@ -0,0 +1,253 @@
+package com.ghadynazha.recipeapi.service;
+
+import com.ghadynazha.recipeapi.model.BulkItemResult;
+import com.ghadynazha.recipeapi.model.BulkResult;
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.repository.RecipeRepository;
+import com.ghadynazha.recipeapi.repository.RecipeRepositoryImpl;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Service for creating, updating and deleting many recipes in one request.
+ *
+ * Items are validated up front, IDs for new recipes are reserved in a single counter
+ * round trip, and valid items are written with one unordered MongoDB bulk operation,
+ * so one bad item never blocks the others. Each item gets its own result.
+ *
+ * Author: Ghady Nazha
+ */
+@Service
+public class RecipeBulkService {
+
+    /**
+     * Maximum number of items accepted in one bulk request.
+     */
+    public static final int MAX_ITEMS = 5000;
+
+    private final MongoTemplate mongoTemplate;
+    private final CounterService counterService;
+    private final Validator validator;
+    private final RecipeIndexer recipeIndexer;
+    private final RecipeRepository recipeRepo;
+
+    /**
+     * Constructs the RecipeBulkService with the required dependencies.
+     *
+     * @param mongoTemplate the template used for bulk writes
+     * @param counterService the service used to reserve recipe IDs
+     * @param validator the bean validator applied to each item
+     * @param recipeIndexer the service that keeps in-memory indexes in sync with writes
+     * @param recipeRepo the repository used to record deletion tombstones
+     */
+    public RecipeBulkService(MongoTemplate mongoTemplate, CounterService counterService,
+                             Validator validator, RecipeIndexer recipeIndexer, RecipeRepository recipeRepo) {
+        this.mongoTemplate = mongoTemplate;
+        this.counterService = counterService;
+        this.validator = validator;
+        this.recipeIndexer = recipeIndexer;
+        this.recipeRepo = recipeRepo;
+    }
+
+    /**
+     * Creates all valid recipes, assigning each a new ID.
+     *
+     * @param recipes the recipes to create
+     * @return per-item results
+     */
+    public BulkResult createAll(List<Recipe> recipes) {
+        BulkItemResult[] results = new BulkItemResult[recipes.size()];
+        List<Integer> positions = validate(recipes, results);
+        if (positions.isEmpty()) return BulkResult.of(Arrays.asList(results));
+
+        int nextId = counterService.reserveRange("recipe", positions.size());
+        long now = System.currentTimeMillis();
+        List<Recipe> batch = new ArrayList<>(positions.size());
+        for (int pos : positions) {
+            Recipe recipe = recipes.get(pos);
+            recipe.setId(nextId++);
+            recipe.setVersion(1L);
+            recipe.setModifiedAt(now);
+            batch.add(recipe);
+        }
+
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Recipe.class);
+        ops.insert(batch);
+        applyBulk(ops, batch, positions, results, "created");
+        return BulkResult.of(Arrays.asList(results));
+    }
+
+    /**
+     * Replaces all valid recipes that exist; each item must carry its ID.
+     * Versions are incremented as for single updates; the version in the items is ignored.
+     * The updated recipes are read back with one query, so the indexes get what is stored and
+     * items whose recipe no longer exists (including ones deleted concurrently) are reported "not_found".
+     *
+     * @param recipes the recipes to update
+     * @return per-item results
+     */
+    public BulkResult updateAll(List<Recipe> recipes) {
+        BulkItemResult[] results = new BulkItemResult[recipes.size()];
+        List<Integer> positions = new ArrayList<>();
+        for (int pos : validate(recipes, results)) {
+            if (recipes.get(pos).getId() == null) {
+                results[pos] = new BulkItemResult(pos, null, "invalid", "ID is required");
+            } else {
+                positions.add(pos);
+            }
+        }
+        if (positions.isEmpty()) return BulkResult.of(Arrays.asList(results));
+
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Recipe.class);
+        List<Integer> ids = new ArrayList<>(positions.size());
+        for (int pos : positions) {
+            Recipe recipe = recipes.get(pos);
+            ops.updateOne(query(where("id").is(recipe.getId())), RecipeRepositoryImpl.replacement(recipe));
+            ids.add(recipe.getId());
+        }
+        Outcome outcome = execute(ops, positions.size());
+
+        Map<Integer, Recipe> stored = mongoTemplate.find(query(where("id").in(ids)), Recipe.class).stream()
+                .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+        // If every update matched, a recipe missing now was deleted after its update, not before
+        boolean allMatched = outcome.matched() == positions.size() - outcome.failures();
+        Set<Integer> indexed = new HashSet<>();
+        for (int i = 0; i < positions.size(); i++) {
+            int pos = positions.get(i);
+            Integer id = ids.get(i);
+            Recipe current = stored.get(id);
+            if (outcome.errors()[i] != null) {
+                results[pos] = new BulkItemResult(pos, id, "failed", outcome.errors()[i]);
+            } else if (current != null) {
+                results[pos] = new BulkItemResult(pos, id, "updated", null);
+                if (indexed.add(id)) recipeIndexer.saved(current);
+            } else if (allMatched) {
+                results[pos] = new BulkItemResult(pos, id, "updated", null);
+            } else {
+                results[pos] = new BulkItemResult(pos, id, "not_found", "Recipe not found");
+            }
+        }
+        return BulkResult.of(Arrays.asList(results));
+    }
+
+    /**
+     * Deletes all recipes with the given IDs in a single delete command, then records their tombstones.
+     *
+     * @param ids the IDs to delete
+     * @return per-item results
+     */
+    public BulkResult deleteAll(List<Integer> ids) {
+        Set<Integer> existing = existingIds(ids);
+        if (!existing.isEmpty()) {
+            mongoTemplate.remove(query(where("id").in(existing)), Recipe.class);
+            recipeRepo.recordDeletions(existing);
+            existing.forEach(recipeIndexer::deleted);
+        }
+
+        List<BulkItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Integer id = ids.get(i);
+            results.add(existing.contains(id)
+                    ? new BulkItemResult(i, id, "deleted", null)
+                    : new BulkItemResult(i, id, "not_found", "Recipe not found"));
+        }
+        return BulkResult.of(results);
+    }
+
+    /**
+     * Validates every item, records failures, and returns the positions of valid items.
+     */
+    private List<Integer> validate(List<Recipe> recipes, BulkItemResult[] results) {
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < recipes.size(); i++) {
+            Recipe recipe = recipes.get(i);
+            if (recipe == null) {
+                results[i] = new BulkItemResult(i, null, "invalid", "Item is empty");
+                continue;
+            }
+            Set<ConstraintViolation<Recipe>> violations = validator.validate(recipe);
+            if (violations.isEmpty()) {
+                valid.add(i);
+            } else {
+                String error = violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                results[i] = new BulkItemResult(i, recipe.getId(), "invalid", error);
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Returns which of the given IDs exist, using a single ID-only query.
+     */
+    private Set<Integer> existingIds(List<Integer> ids) {
+        List<Integer> candidates = ids.stream().filter(id -> id != null).distinct().toList();
+        if (candidates.isEmpty()) return new HashSet<>();
+        Query query = query(where("id").in(candidates));
+        query.fields().include("id");
+        return mongoTemplate.find(query, Recipe.class).stream()
+                .map(Recipe::getId)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    /**
+     * Executes a bulk insert and records a result for every item in the batch.
+     * Items reported by MongoDB as failed are marked "failed"; all others get {@code status}
+     * and are forwarded to the in-memory indexes.
+     */
+    private void applyBulk(BulkOperations ops, List<Recipe> batch, List<Integer> positions,
+                           BulkItemResult[] results, String status) {
+        Outcome outcome = execute(ops, batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Recipe recipe = batch.get(i);
+            int pos = positions.get(i);
+            if (outcome.errors()[i] != null) {
+                results[pos] = new BulkItemResult(pos, recipe.getId(), "failed", outcome.errors()[i]);
+            } else {
+                results[pos] = new BulkItemResult(pos, recipe.getId(), status, null);
+                recipeIndexer.saved(recipe);
+            }
+        }
+    }
+
+    /**
+     * Executes a bulk operation, collecting the per-item errors and the number of matched documents.
+     */
+    private static Outcome execute(BulkOperations ops, int size) {
+        String[] errors = new String[size];
+        try {
+            return new Outcome(errors, 0, ops.execute().getMatchedCount());
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                errors[error.getIndex()] = error.getMessage();
+            }
+            return new Outcome(errors, e.getErrors().size(), e.getResult().getMatchedCount());
+        }
+    }
+
+    /**
+     * Result of one bulk operation: an error message per failed item, and how many
+     * documents the updates matched.
+     */
+    private record Outcome(String[] errors, int failures, int matched) {}
+}
@@ -0,0 +1,138 @@
+package com.ghadynazha.recipeapi.service;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.repository.RecipeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+/**
+ * Bounded read-through cache in front of {@link RecipeRepository#findById}.
+ *
+ * Entries are weighed by their approximate heap size and evicted (size-aware TinyLFU)
+ * once the configured byte budget is exceeded. As a {@link RecipeIndex}, the cache drops
+ * an entry whenever that recipe is saved or deleted; an in-flight load that is invalidated
+ * is not stored when it completes, so a stale value is never left behind.
+ * Missing recipes are not cached.
+ *
+ * Loads run on virtual threads outside the cache's internal map locks, so concurrent
+ * readers of the same recipe share one database query without pinning a carrier thread.
+ *
+ * Author: Ghady Nazha
+ */
+@Service
+public class RecipeCache implements RecipeIndex {
+
+    private final AsyncLoadingCache<Integer, Recipe> cache;
+
+    /**
+     * Constructs the RecipeCache with the required dependencies.
+     *
+     * @param recipeRepo the repository used to load missing entries
+     * @param maxBytes the approximate heap budget for cached recipes
+     * @param expireAfterWrite how long an entry may be served before it is reloaded
+     */
+    public RecipeCache(RecipeRepository recipeRepo,
+                       @Value("${app.cache.recipes.max-bytes:67108864}") long maxBytes,
+                       @Value("${app.cache.recipes.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Integer id, Recipe recipe) -> weigh(recipe))
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .buildAsync(id -> recipeRepo.findById(id).orElse(null));
+    }
+
+    /**
+     * Returns a recipe from the cache, loading it from the database on a miss.
+     *
+     * @param id the recipe ID
+     * @return the recipe, or empty if it does not exist
+     */
+    public Optional<Recipe> get(Integer id) {
+        return Optional.ofNullable(cache.get(id).join());
+    }
+
+    /**
+     * Returns a recipe from the cache without blocking, loading it from the database on a miss.
+     *
+     * @param id the recipe ID
+     * @return a future completing with the recipe, or with null if it does not exist
+     */
+    public CompletableFuture<Recipe> getAsync(Integer id) {
+        return cache.get(id);
+    }
+
+    /**
+     * Returns a recipe only if it is already cached, without touching the database.
+     *
+     * @param id the recipe ID
+     * @return the cached recipe, or empty if it is not cached (or still loading)
+     */
+    public Optional<Recipe> getIfPresent(Integer id) {
+        CompletableFuture<Recipe> future = cache.getIfPresent(id);
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(future.join());
+    }
+
+    @Override
+    public void index(Recipe recipe) {
+        cache.synchronous().invalidate(recipe.getId());
+    }
+
+    @Override
+    public void remove(Integer id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    /**
+     * Reports hit ratio, eviction count and load latency since startup.
+     *
+     * @return a map of statistic names to values
+     */
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.synchronous().stats();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("entries", cache.synchronous().estimatedSize());
+        report.put("requests", stats.requestCount());
+        report.put("hitRatio", stats.hitRate());
+        report.put("evictions", stats.evictionCount());
+        report.put("evictedBytes", stats.evictionWeight());
+        report.put("loads", stats.loadCount());
+        report.put("loadFailures", stats.loadFailureCount());
+        report.put("averageLoadMillis", stats.averageLoadPenalty() / 1_000_000.0);
+        return report;
+    }
+
+    /**
+     * Estimates the retained heap size of a recipe in bytes.
+     */
+    private static int weigh(Recipe recipe) {
+        long bytes = 64;
+        bytes += sizeOf(recipe.getTitle());
+        bytes += sizeOf(recipe.getInstructions());
+        bytes += sizeOf(recipe.getCategory());
+        if (recipe.getIngredients() != null) {
+            for (String ingredient : recipe.getIngredients()) {
+                bytes += 8 + sizeOf(ingredient);
+            }
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static long sizeOf(String s) {
+        return s == null ? 0 : 40 + s.length();
+    }
+}
@@ -0,0 +1,441 @@
+package com.ghadynazha.recipeapi.service;
+
+import com.ghadynazha.recipeapi.model.ChangeFeedPosition;
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.model.RecipeChange;
+import com.ghadynazha.recipeapi.repository.RecipeRepository;
+import com.mongodb.CursorType;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Service that keeps this instance's caches and in-memory indexes in sync with recipe writes
+ * made by other instances sharing the database.
+ *
+ * On a replica set or sharded cluster it follows a MongoDB change stream on the "recipes"
+ * collection; each event carries the current document, which refreshes (or, for deletions,
+ * evicts) the local entries through {@link RecipeIndexer}. On a standalone server, which has
+ * no change streams, it tails the capped outbox every instance appends its writes to
+ * ({@link RecipeChangeOutbox}) and reads the changed recipes back.
+ *
+ * The position reached (resume token, or time of the last applied outbox entry) is saved
+ * periodically per instance, and kept across reconnects. If the feed falls behind what the
+ * oplog or the capped collection still holds, it catches up from the {@code modifiedAt} index
+ * and the tombstones, as a snapshot restore does, then continues from the present.
+ *
+ * Author: Ghady Nazha
+ */
+@Service
+public class RecipeChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeChangeFeed.class);
+
+    /**
+     * Server error codes for a resume point that is no longer available.
+     */
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    private static final int CAPPED_POSITION_LOST = 136;
+
+    private static final int MAX_BATCH = 500;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final MongoTemplate mongoTemplate;
+    private final RecipeRepository recipeRepo;
+    private final RecipeIndexer recipeIndexer;
+    private final RecipeChangeOutbox outbox;
+    private final String mode;
+    private final Duration checkpointInterval;
+    private final Duration replayOverlap;
+    private final Counter changeStreamEvents;
+    private final Counter outboxEvents;
+    private final Counter resyncs;
+
+    private volatile boolean changeStreams;
+    private volatile boolean running;
+    private volatile String resumeToken;
+    private volatile long position = -1;
+    private volatile AutoCloseable cursor;
+    private long checkpointedAt;
+    private Thread follower;
+
+    /**
+     * Constructs the RecipeChangeFeed with the required dependencies.
+     *
+     * @param mongoTemplate the template used to follow changes and save the position
+     * @param recipeRepo the repository used to read changed recipes
+     * @param recipeIndexer the indexer that applies changes to every local index and cache
+     * @param outbox the outbox used when change streams are unavailable
+     * @param meterRegistry the registry that receives event and resync counts
+     * @param mode "auto" (change streams when available, else the outbox), "change-stream", "outbox" or "off"
+     * @param checkpointInterval how often the position is saved
+     * @param replayOverlap how far before a position changes are read again, to absorb clock skew
+     */
+    public RecipeChangeFeed(MongoTemplate mongoTemplate, RecipeRepository recipeRepo, RecipeIndexer recipeIndexer,
+                            RecipeChangeOutbox outbox, MeterRegistry meterRegistry,
+                            @Value("${app.change-feed.mode:auto}") String mode,
+                            @Value("${app.change-feed.checkpoint-interval:5s}") Duration checkpointInterval,
+                            @Value("${app.snapshot.replay-overlap:5m}") Duration replayOverlap) {
+        this.mongoTemplate = mongoTemplate;
+        this.recipeRepo = recipeRepo;
+        this.recipeIndexer = recipeIndexer;
+        this.outbox = outbox;
+        this.mode = mode;
+        this.checkpointInterval = checkpointInterval;
+        this.replayOverlap = replayOverlap;
+        this.changeStreamEvents = Counter.builder("recipeapi.changefeed.events").tag("source", "change-stream")
+                .register(meterRegistry);
+        this.outboxEvents = Counter.builder("recipeapi.changefeed.events").tag("source", "outbox")
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("recipeapi.changefeed.resyncs").register(meterRegistry);
+    }
+
+    /**
+     * Chooses between change streams and the outbox. Runs before the server accepts requests,
+     * so that with the outbox every write of this instance is published.
+     */
+    @PostConstruct
+    public void init() {
+        switch (mode) {
+            case "off" -> { }
+            case "change-stream" -> changeStreams = true;
+            case "outbox" -> outbox.enable();
+            case "auto" -> {
+                changeStreams = supportsChangeStreams();
+                if (!changeStreams) outbox.enable();
+            }
+            default -> throw new IllegalArgumentException("app.change-feed.mode must be auto, change-stream, outbox or off");
+        }
+    }
+
+    /**
+     * Starts following changes once the indexes have been loaded, from shortly before the load
+     * began (or from the saved resume token, if it is at least as recent).
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    @Order(2)
+    public void start() {
+        if ("off".equals(mode)) return;
+
+        position = recipeIndexer.loadStartedAt();
+        try {
+            ChangeFeedPosition saved = mongoTemplate.findById(outbox.nodeId(), ChangeFeedPosition.class);
+            if (changeStreams && saved != null && saved.getResumeToken() != null
+                    && saved.getAt().getTime() >= position - replayOverlap.toMillis()) {
+                resumeToken = saved.getResumeToken();
+                position = saved.getAt().getTime();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cannot read change feed position of {}: {}", outbox.nodeId(), e.getMessage());
+        }
+
+        running = true;
+        follower = Thread.ofPlatform().name("recipe-change-feed").daemon().start(this::follow);
+        log.info("Following recipe changes via {} as {}", changeStreams ? "change stream" : "outbox", outbox.nodeId());
+    }
+
+    /**
+     * Returns how this instance follows changes and how far it has got.
+     *
+     * @return the mode, node ID, position and event counts
+     */
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("mode", "off".equals(mode) ? "off" : changeStreams ? "change-stream" : "outbox");
+        status.put("node", outbox.nodeId());
+        status.put("running", running);
+        status.put("position", position < 0 ? null : new Date(position));
+        status.put("resumable", resumeToken != null);
+        status.put("events", (long) (changeStreamEvents.count() + outboxEvents.count()));
+        status.put("resyncs", (long) resyncs.count());
+        return status;
+    }
+
+    /**
+     * Stops following changes and saves the position reached.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (!running) return;
+        running = false;
+        closeCursor();
+        follower.interrupt();
+        try {
+            follower.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        checkpoint();
+    }
+
+    /**
+     * Reads changes until shutdown, reconnecting with exponential backoff after failures.
+     */
+    private void follow() {
+        long backoff = 1000;
+        boolean behind = false;
+        while (running) {
+            try {
+                if (behind) {
+                    resync();
+                    behind = false;
+                }
+                if (changeStreams) {
+                    watch();
+                } else {
+                    tail();
+                }
+                backoff = 1000;
+            } catch (RuntimeException e) {
+                if (!running) return;
+                if (e instanceof MongoException me
+                        && (me.getCode() == CHANGE_STREAM_HISTORY_LOST || me.getCode() == CAPPED_POSITION_LOST)) {
+                    log.warn("Recipe change feed fell behind ({}); catching up from modification times", e.getMessage());
+                    behind = true;
+                    continue;
+                }
+                log.warn("Recipe change feed failed, retrying in {} ms: {}", backoff, e.getMessage());
+                backoff = pause(backoff);
+            }
+        }
+    }
+
+    /**
+     * Follows the change stream of the recipes collection.
+     */
+    private void watch() {
+        ChangeStreamIterable<Document> stream = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Recipe.class))
+                .watch()
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        stream = resumeToken != null
+                ? stream.resumeAfter(new BsonDocument("_data", new BsonString(resumeToken)))
+                : stream.startAtOperationTime(new BsonTimestamp((int) ((position - replayOverlap.toMillis()) / 1000), 0));
+
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> events = stream.cursor()) {
+            cursor = events;
+            while (running) {
+                ChangeStreamDocument<Document> event = events.tryNext();
+                if (event != null) {
+                    apply(event);
+                    changeStreamEvents.increment();
+                    if (event.getClusterTime() != null) position = event.getClusterTime().getTime() * 1000L;
+                }
+                // The post-batch token moves past events other collections produced, even when idle
+                BsonDocument token = events.getResumeToken();
+                if (token != null) resumeToken = token.getString("_data").getValue();
+                if (event != null && "invalidate".equals(event.getOperationTypeString())) {
+                    // The stream ends when the collection is dropped or renamed; start a new one from now
+                    resumeToken = null;
+                    position = System.currentTimeMillis();
+                    return;
+                }
+                checkpointIfDue();
+            }
+        } finally {
+            cursor = null;
+        }
+    }
+
+    /**
+     * Applies one change stream event to the local indexes and caches.
+     */
+    private void apply(ChangeStreamDocument<Document> event) {
+        if (event.getDocumentKey() == null) return;
+        Integer id = event.getDocumentKey().getInt32("_id").getValue();
+        Document current = event.getFullDocument();
+        switch (event.getOperationTypeString()) {
+            case "insert", "update", "replace" -> {
+                // The document may have been deleted again before the lookup
+                if (current == null) {
+                    recipeIndexer.applyDeletion(id);
+                } else {
+                    recipeIndexer.apply(mongoTemplate.getConverter().read(Recipe.class, current));
+                }
+            }
+            case "delete" -> recipeIndexer.applyDeletion(id);
+            default -> { }
+        }
+    }
+
+    /**
+     * Tails the outbox and refreshes the recipes written by other instances.
+     * The whole capped collection is matched, so the cursor stays open even when
+     * no entry is new; entries older than the position are skipped.
+     */
+    private void tail() {
+        outbox.ensureCollection();
+        long since = position - replayOverlap.toMillis();
+        try (MongoCursor<Document> entries = mongoTemplate.getCollection(mongoTemplate.getCollectionName(RecipeChange.class))
+                .find()
+                .cursorType(CursorType.TailableAwait)
+                .maxAwaitTime(1, TimeUnit.SECONDS)
+                .cursor()) {
+            cursor = entries;
+            while (running) {
+                Document entry = entries.tryNext();
+                if (entry == null) {
+                    // A tailable cursor on an empty collection is closed by the server
+                    if (entries.getServerCursor() == null) {
+                        pause(1000);
+                        return;
+                    }
+                    checkpointIfDue();
+                    continue;
+                }
+
+                Set<Integer> ids = new HashSet<>();
+                long latest = position;
+                long gapSince = Long.MAX_VALUE;
+                do {
+                    long at = entry.getDate("at").getTime();
+                    if (at >= since && !outbox.nodeId().equals(entry.getString("node"))) {
+                        Integer recipeId = entry.getInteger("recipeId");
+                        if (recipeId != null) {
+                            ids.add(recipeId);
+                        } else if (entry.getDate("gapSince") != null) {
+                            // Another instance dropped changes; they can only be recovered from modification times
+                            gapSince = Math.min(gapSince, entry.getDate("gapSince").getTime());
+                        }
+                    }
+                    latest = Math.max(latest, at);
+                } while (ids.size() < MAX_BATCH && entries.available() > 0 && (entry = entries.tryNext()) != null);
+
+                outboxEvents.increment(ids.size());
+                refresh(ids);
+                position = latest;
+                if (gapSince != Long.MAX_VALUE) {
+                    log.warn("Another instance dropped recipe changes since {}; catching up from modification times",
+                            new Date(gapSince));
+                    resync(gapSince);
+                }
+                checkpointIfDue();
+            }
+        } finally {
+            cursor = null;
+        }
+    }
+
+    /**
+     * Re-reads the given recipes and applies their current state; missing ones are evicted.
+     */
+    private void refresh(Set<Integer> ids) {
+        if (ids.isEmpty()) return;
+        for (Recipe recipe : recipeRepo.findAllById(ids)) {
+            ids.remove(recipe.getId());
+            recipeIndexer.apply(recipe);
+        }
+        ids.forEach(recipeIndexer::applyDeletion);
+    }
+
+    /**
+     * Catches up after the feed lost its position: applies every recipe modified and deleted
+     * since shortly before the position, then continues the feed from the start of the catch-up.
+     */
+    private void resync() {
+        resync(position);
+    }
+
+    /**
+     * Applies every recipe modified and deleted since shortly before the given time, then
+     * continues the feed from the start of the catch-up.
+     *
+     * @param from the earliest change that may be missing (epoch millis)
+     */
+    private void resync(long from) {
+        long start = System.currentTimeMillis();
+        long since = Math.min(from, position) - replayOverlap.toMillis();
+        long replayed = 0;
+        try (Stream<Recipe> changed = recipeRepo.streamModifiedSince(since)) {
+            for (Recipe recipe : (Iterable<Recipe>) changed::iterator) {
+                recipeIndexer.apply(recipe);
+                replayed++;
+            }
+        }
+        List<Integer> removed = recipeRepo.findDeletedSince(since);
+        removed.forEach(recipeIndexer::applyDeletion);
+
+        resumeToken = null;
+        position = start;
+        resyncs.increment();
+        log.info("Recipe change feed caught up with {} changes and {} deletions", replayed, removed.size());
+    }
+
+    private void checkpointIfDue() {
+        long now = System.currentTimeMillis();
+        if (now - checkpointedAt < checkpointInterval.toMillis()) return;
+        checkpointedAt = now;
+        checkpoint();
+    }
+
+    /**
+     * Saves the position reached, so a restart can resume from it.
+     */
+    private void checkpoint() {
+        if (position < 0) return;
+        try {
+            mongoTemplate.save(new ChangeFeedPosition(outbox.nodeId(), resumeToken, new Date(position)));
+        } catch (RuntimeException e) {
+            log.warn("Cannot save change feed position: {}", e.getMessage());
+        }
+    }
+
+    private boolean supportsChangeStreams() {
+        try {
+            Document hello = mongoTemplate.getDb().runCommand(new Document("hello", 1));
+            return hello.containsKey("setName") || "isdbgrid".equals(hello.getString("msg"));
+        } catch (RuntimeException e) {
+            log.warn("Cannot detect MongoDB topology, using the recipe change outbox: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void closeCursor() {
+        AutoCloseable open = cursor;
+        if (open == null) return;
+        try {
+            open.close();
+        } catch (Exception e) {
+            // The follower thread notices the closed cursor and exits
+        }
+    }
+
+    private long pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+        return Math.min(millis * 2, MAX_BACKOFF_MILLIS);
+    }
+}
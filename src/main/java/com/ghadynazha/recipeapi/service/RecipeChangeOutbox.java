@@ -0,0 +1,207 @@
+package com.ghadynazha.recipeapi.service;
+
+import com.ghadynazha.recipeapi.model.RecipeChange;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Service that appends this instance's recipe writes to the capped "recipe_changes" collection,
+ * so other instances tailing it can refresh their in-memory copies ({@link RecipeChangeFeed}).
+ *
+ * Publishing only queues the recipe IDs; a background thread drains the queue and writes each
+ * drained batch with one insert, so request threads (and the reactive event loop) never wait on
+ * it and bulk writes cost a few inserts, not one per recipe. Publishing is a no-op until
+ * {@link #enable()} is called, which only happens when the change feed uses the outbox.
+ *
+ * Failed inserts are retried with backoff and never dropped. If the queue overflows meanwhile,
+ * the dropped IDs are replaced by one gap marker, which makes the other instances catch up from
+ * modification times ({@link RecipeChangeFeed}); the peers' indexes never expire on their own.
+ *
+ * Author: Ghady Nazha
+ */
+@Service
+public class RecipeChangeOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeChangeOutbox.class);
+
+    private static final int MAX_BATCH = 1000;
+    private static final int MAX_QUEUED = 100_000;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final MongoTemplate mongoTemplate;
+    private final String nodeId;
+    private final long sizeBytes;
+    private final BlockingQueue<Integer> queue = new LinkedBlockingQueue<>(MAX_QUEUED);
+    private volatile boolean enabled;
+    private volatile boolean created;
+    private final AtomicReference<Gap> gap = new AtomicReference<>();
+    private Thread publisher;
+
+    /**
+     * Constructs the RecipeChangeOutbox with the required dependencies.
+     *
+     * @param mongoTemplate the template used to create and write the outbox collection
+     * @param nodeId the ID of this instance; blank for host:port (or a random ID when the port is random)
+     * @param port the HTTP port of this instance
+     * @param sizeBytes the size of the capped collection
+     */
+    public RecipeChangeOutbox(MongoTemplate mongoTemplate,
+                              @Value("${app.change-feed.node-id:}") String nodeId,
+                              @Value("${server.port:8080}") int port,
+                              @Value("${app.change-feed.outbox-size-bytes:16777216}") long sizeBytes) {
+        this.mongoTemplate = mongoTemplate;
+        this.nodeId = nodeId.isBlank() ? defaultNodeId(port) : nodeId;
+        this.sizeBytes = sizeBytes;
+    }
+
+    /**
+     * Returns the ID this instance writes its changes and feed position under.
+     *
+     * @return the node ID
+     */
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Starts publishing writes to the outbox.
+     */
+    public synchronized void enable() {
+        if (enabled) return;
+        enabled = true;
+        publisher = Thread.ofPlatform().name("recipe-outbox").daemon().start(this::drain);
+    }
+
+    /**
+     * Queues the IDs of recipes written by this instance. Never blocks; if the queue is
+     * full (MongoDB unreachable for a long time), the IDs are dropped and a gap is recorded,
+     * to be published as a marker once the outbox can be written again.
+     *
+     * @param recipeIds the IDs of the created, updated or deleted recipes
+     */
+    public void publish(Collection<Integer> recipeIds) {
+        if (!enabled) return;
+        int dropped = 0;
+        for (Integer id : recipeIds) {
+            if (!queue.offer(id)) dropped++;
+        }
+        if (dropped == 0) return;
+        long now = System.currentTimeMillis();
+        int lost = dropped;
+        Gap current = gap.updateAndGet(g -> g == null ? new Gap(now, lost) : new Gap(g.since(), g.dropped() + lost));
+        if (current.dropped() == lost) {
+            log.warn("Recipe change outbox is full; dropping changes until it drains, then other instances catch up from modification times");
+        }
+    }
+
+    /**
+     * Creates the capped outbox collection if it does not exist yet. Writing to a missing
+     * collection would create an uncapped one, which cannot be tailed.
+     */
+    public void ensureCollection() {
+        if (created) return;
+        try {
+            if (!mongoTemplate.collectionExists(RecipeChange.class)) {
+                mongoTemplate.createCollection(RecipeChange.class, CollectionOptions.empty().capped().size(sizeBytes));
+                log.info("Created capped collection recipe_changes ({} bytes)", sizeBytes);
+            }
+        } catch (DataAccessException e) {
+            // Another instance may have created it in the meantime
+            if (!mongoTemplate.collectionExists(RecipeChange.class)) throw e;
+        }
+        created = true;
+    }
+
+    /**
+     * Stops the publisher after flushing what is queued.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (publisher == null) return;
+        publisher.interrupt();
+        try {
+            publisher.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        List<Integer> batch = new ArrayList<>(MAX_BATCH);
+        boolean stopping = false;
+        long backoff = 1000;
+        while (!stopping || !queue.isEmpty() || !batch.isEmpty()) {
+            // A batch that failed to insert is kept and retried before anything newer
+            if (!stopping && batch.isEmpty()) {
+                try {
+                    Integer first = queue.poll(1, TimeUnit.SECONDS);
+                    if (first != null) batch.add(first);
+                } catch (InterruptedException e) {
+                    stopping = true;
+                }
+            }
+            queue.drainTo(batch, MAX_BATCH - batch.size());
+            Gap pending = gap.get();
+            if (batch.isEmpty() && pending == null) continue;
+
+            Date now = new Date();
+            List<RecipeChange> changes = new ArrayList<>(batch.size() + 1);
+            for (Integer id : batch) changes.add(new RecipeChange(null, id, nodeId, now, null));
+            if (pending != null) changes.add(new RecipeChange(null, null, nodeId, now, new Date(pending.since())));
+            try {
+                ensureCollection();
+                mongoTemplate.insert(changes, RecipeChange.class);
+                batch.clear();
+                backoff = 1000;
+                // Only clear the gap if nothing else was dropped since the marker was built
+                if (pending != null && gap.compareAndSet(pending, null)) {
+                    log.info("Published a catch-up marker for {} dropped recipe changes", pending.dropped());
+                }
+            } catch (DataAccessException e) {
+                if (stopping) {
+                    log.warn("Cannot publish {} recipe changes at shutdown: {}", changes.size(), e.getMessage());
+                    return;
+                }
+                log.warn("Cannot publish {} recipe changes, retrying in {} ms: {}", changes.size(), backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    stopping = true;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Changes dropped because the queue was full: when the first was dropped, and how many.
+     */
+    private record Gap(long since, long dropped) {}
+
+    private static String defaultNodeId(int port) {
+        if (port == 0) return UUID.randomUUID().toString();
+        try {
+            return InetAddress.getLocalHost().getHostName() + ":" + port;
+        } catch (UnknownHostException e) {
+            return UUID.randomUUID().toString();
+        }
+    }
+}
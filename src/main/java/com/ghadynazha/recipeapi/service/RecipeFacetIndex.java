@@ -0,0 +1,148 @@
+package com.ghadynazha.recipeapi.service;
+
+import com.ghadynazha.recipeapi.model.FacetCount;
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.model.RecipeFacets;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory facet counters for recipe categories and cooking-time ranges.
+ *
+ * Counts are maintained incrementally: every save moves one recipe from its old
+ * category and range to the new ones, and every delete decrements them, so catalog-wide
+ * facets are read straight from the counters. Each recipe's facet values are also kept,
+ * so facets of a search result are counted from memory without reading any documents.
+ * The counters are built at startup by {@link RecipeIndexer}.
+ *
+ * Author: Ghady Nazha
+ */
+@Service
+public class RecipeFacetIndex implements RecipeIndex {
+
+    /**
+     * Upper bounds (exclusive, in minutes) of the cooking-time ranges; the last range is open.
+     */
+    private static final int[] TIME_BOUNDS = {15, 30, 60, 120};
+
+    private static final String[] TIME_LABELS = {"0-14", "15-29", "30-59", "60-119", "120+"};
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final Map<String, Long> categoryCounts = new HashMap<>();
+    private final long[] timeCounts = new long[TIME_LABELS.length];
+
+    /**
+     * Facet values of one recipe.
+     */
+    private record Entry(String category, int timeRange) {}
+
+    /**
+     * Default constructor for RecipeFacetIndex.
+     */
+    public RecipeFacetIndex() {}
+
+    @Override
+    public void index(Recipe recipe) {
+        Entry entry = new Entry(recipe.getCategory(), timeRange(recipe.getCookingTime()));
+        lock.writeLock().lock();
+        try {
+            Entry old = entries.put(recipe.getId(), entry);
+            if (old != null) {
+                if (old.equals(entry)) return;
+                count(old, -1);
+            }
+            count(entry, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Integer id) {
+        lock.writeLock().lock();
+        try {
+            Entry old = entries.remove(id);
+            if (old != null) count(old, -1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns facet counts over the whole catalog, straight from the counters.
+     *
+     * @param categoryLimit the maximum number of categories to return
+     * @return the facet counts
+     */
+    public RecipeFacets facets(int categoryLimit) {
+        lock.readLock().lock();
+        try {
+            return toFacets(entries.size(), categoryCounts, timeCounts, categoryLimit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns facet counts over the given recipes only, using their indexed facet values.
+     *
+     * @param ids the IDs of the recipes to count (unknown IDs are ignored)
+     * @param categoryLimit the maximum number of categories to return
+     * @return the facet counts
+     */
+    public RecipeFacets facets(int[] ids, int categoryLimit) {
+        Map<String, Long> categories = new HashMap<>();
+        long[] times = new long[TIME_LABELS.length];
+        long total = 0;
+
+        lock.readLock().lock();
+        try {
+            for (int id : ids) {
+                Entry entry = entries.get(id);
+                if (entry == null) continue;
+                categories.merge(entry.category(), 1L, Long::sum);
+                times[entry.timeRange()]++;
+                total++;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return toFacets(total, categories, times, categoryLimit);
+    }
+
+    /**
+     * Adds {@code delta} to the counters of one recipe. Caller must hold the write lock.
+     */
+    private void count(Entry entry, long delta) {
+        categoryCounts.merge(entry.category(), delta, (a, b) -> a + b == 0 ? null : a + b);
+        timeCounts[entry.timeRange()] += delta;
+    }
+
+    private static int timeRange(int cookingTime) {
+        int range = 0;
+        while (range < TIME_BOUNDS.length && cookingTime >= TIME_BOUNDS[range]) range++;
+        return range;
+    }
+
+    private static RecipeFacets toFacets(long total, Map<String, Long> categories, long[] times, int categoryLimit) {
+        List<FacetCount> categoryFacets = categories.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed()
+                        .thenComparing(Map.Entry::getKey, Comparator.nullsLast(Comparator.naturalOrder())))
+                .limit(Math.max(categoryLimit, 0))
+                .map(e -> new FacetCount(e.getKey(), e.getValue()))
+                .toList();
+
+        List<FacetCount> timeFacets = new ArrayList<>(times.length);
+        for (int i = 0; i < times.length; i++) {
+            timeFacets.add(new FacetCount(TIME_LABELS[i], times[i]));
+        }
+        return new RecipeFacets(total, categoryFacets, timeFacets);
+    }
+}
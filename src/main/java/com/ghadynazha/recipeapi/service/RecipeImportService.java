@@ -0,0 +1,361 @@
+package com.ghadynazha.recipeapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.ghadynazha.recipeapi.model.BulkItemResult;
+import com.ghadynazha.recipeapi.model.ImportReport;
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.util.CsvReader;
+import com.ghadynazha.recipeapi.util.RecipeCsv;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Service for importing large numbers of recipes from a request stream in constant memory.
+ *
+ * Input is parsed one record at a time (NDJSON lines or CSV records) and validated with the
+ * {@link Recipe} constraints. Valid recipes are collected into batches; each batch reserves its
+ * IDs in one counter round trip and is inserted with an unordered bulk write on a virtual thread.
+ * At most {@code max-in-flight} batches are written at once: when the database falls behind,
+ * the parser blocks and stops reading the request, so backpressure reaches the client through TCP.
+ *
+ * Running imports are listed by {@link #running()} for progress reporting.
+ *
+ * Author: Ghady Nazha
+ */
+@Service
+public class RecipeImportService {
+
+    /**
+     * Maximum number of errors kept per import; later errors are only counted.
+     */
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeImportService.class);
+    private static final long LOG_EVERY = 100_000;
+
+    private final MongoTemplate mongoTemplate;
+    private final CounterService counterService;
+    private final Validator validator;
+    private final RecipeIndexer recipeIndexer;
+    private final ObjectReader recipeReader;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong nextImportId = new AtomicLong();
+    private final Map<Long, Import> imports = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the RecipeImportService with the required dependencies.
+     *
+     * @param mongoTemplate the template used for bulk inserts
+     * @param counterService the service used to reserve recipe IDs
+     * @param validator the bean validator applied to each record
+     * @param recipeIndexer the service that keeps in-memory indexes in sync with writes
+     * @param objectMapper the JSON mapper used to parse NDJSON lines
+     * @param batchSize the number of recipes per bulk insert
+     * @param maxInFlight the maximum number of bulk inserts running at once per import
+     */
+    public RecipeImportService(MongoTemplate mongoTemplate, CounterService counterService, Validator validator,
+                               RecipeIndexer recipeIndexer, ObjectMapper objectMapper,
+                               @Value("${app.import.batch-size:1000}") int batchSize,
+                               @Value("${app.import.max-in-flight:4}") int maxInFlight) {
+        if (batchSize < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("app.import.batch-size and app.import.max-in-flight must be at least 1");
+        }
+        this.mongoTemplate = mongoTemplate;
+        this.counterService = counterService;
+        this.validator = validator;
+        this.recipeIndexer = recipeIndexer;
+        this.recipeReader = objectMapper.readerFor(Recipe.class);
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Imports recipes from newline-delimited JSON, one recipe object per line.
+     * Blank lines are skipped; IDs and versions in the input are ignored.
+     *
+     * @param in the NDJSON input (UTF-8)
+     * @return the final report
+     * @throws IOException if reading the input fails
+     */
+    public ImportReport importNdjson(InputStream in) throws IOException {
+        Import job = start("ndjson");
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16)) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                if (line.isBlank()) continue;
+                long pos = job.received.getAndIncrement();
+                Recipe recipe;
+                try {
+                    recipe = recipeReader.readValue(line);
+                } catch (JsonProcessingException e) {
+                    job.invalid(pos, "Malformed JSON: " + e.getOriginalMessage());
+                    continue;
+                }
+                job.offer(pos, recipe);
+            }
+            return job.finish();
+        } finally {
+            job.abandon();
+        }
+    }
+
+    /**
+     * Imports recipes from CSV with a header row naming the columns (see {@link RecipeCsv}).
+     *
+     * @param in the CSV input (UTF-8)
+     * @return the final report
+     * @throws IOException if reading the input fails
+     * @throws IllegalArgumentException if the header is missing or names unknown columns
+     */
+    public ImportReport importCsv(InputStream in) throws IOException {
+        try (CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16))) {
+            List<String> header = csv.next();
+            if (header == null) throw new IllegalArgumentException("CSV input is empty");
+            Map<String, Integer> columns = RecipeCsv.columns(header);
+
+            Import job = start("csv");
+            try {
+                List<String> row;
+                while ((row = csv.next()) != null) {
+                    if (row.size() == 1 && row.get(0).isEmpty()) continue;
+                    long pos = job.received.getAndIncrement();
+                    Recipe recipe;
+                    try {
+                        recipe = RecipeCsv.fromRow(columns, row);
+                    } catch (IllegalArgumentException e) {
+                        job.invalid(pos, e.getMessage());
+                        continue;
+                    }
+                    job.offer(pos, recipe);
+                }
+                return job.finish();
+            } finally {
+                job.abandon();
+            }
+        }
+    }
+
+    /**
+     * Returns the progress of all imports that are still running.
+     *
+     * @return one report per running import
+     */
+    public List<ImportReport> running() {
+        return imports.values().stream().map(Import::report).toList();
+    }
+
+    private Import start(String format) {
+        Import job = new Import(nextImportId.incrementAndGet(), format);
+        imports.put(job.id, job);
+        return job;
+    }
+
+    /**
+     * State of one import. Parsing and batching happen on the calling thread;
+     * only the bulk writes run concurrently.
+     */
+    private final class Import {
+        private final long id;
+        private final String format;
+        private final long startNanos = System.nanoTime();
+        private final Semaphore inFlight = new Semaphore(maxInFlight);
+        private final AtomicLong received = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong invalid = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<BulkItemResult> errors = new ArrayList<>();
+        private List<Recipe> batch;
+        private long[] positions;
+        private volatile boolean running = true;
+
+        Import(long id, String format) {
+            this.id = id;
+            this.format = format;
+            newBatch();
+        }
+
+        /**
+         * Validates a parsed record and adds it to the current batch, writing the batch when full.
+         */
+        void offer(long pos, Recipe recipe) throws IOException {
+            if (recipe == null) {
+                invalid(pos, "Item is empty");
+                return;
+            }
+            Set<ConstraintViolation<Recipe>> violations = validator.validate(recipe);
+            if (!violations.isEmpty()) {
+                invalid(pos, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            positions[batch.size()] = pos;
+            batch.add(recipe);
+            if (batch.size() == batchSize) flush();
+            if ((pos + 1) % LOG_EVERY == 0) {
+                log.info("Import {}: {} records read, {} imported", id, pos + 1, imported.get());
+            }
+        }
+
+        void invalid(long pos, String error) {
+            invalid.incrementAndGet();
+            error(pos, null, "invalid", error);
+        }
+
+        /**
+         * Hands the current batch to a writer, waiting while {@code maxInFlight} writes are running.
+         */
+        void flush() throws IOException {
+            if (batch.isEmpty()) return;
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Import interrupted");
+            }
+            List<Recipe> recipes = batch;
+            long[] pos = positions;
+            newBatch();
+            try {
+                int nextId = counterService.reserveRange("recipe", recipes.size());
+                long now = System.currentTimeMillis();
+                for (Recipe recipe : recipes) {
+                    recipe.setId(nextId++);
+                    recipe.setVersion(1L);
+                    recipe.setModifiedAt(now);
+                }
+                writers.execute(() -> {
+                    try {
+                        write(recipes, pos);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                inFlight.release();
+                throw e;
+            }
+        }
+
+        /**
+         * Inserts one batch, indexes it, and records per-item failures.
+         * A failure other than a per-item write error fails the whole batch.
+         */
+        private void write(List<Recipe> recipes, long[] pos) {
+            String[] itemErrors = new String[recipes.size()];
+            try {
+                BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Recipe.class);
+                ops.insert(recipes);
+                ops.execute();
+            } catch (BulkOperationException e) {
+                for (BulkWriteError error : e.getErrors()) {
+                    itemErrors[error.getIndex()] = error.getMessage();
+                }
+            } catch (DataAccessException e) {
+                Arrays.fill(itemErrors, e.getMessage());
+            } catch (RuntimeException e) {
+                // Any other error fails this batch instead of escaping the writer thread uncounted
+                Arrays.fill(itemErrors, String.valueOf(e.getMessage()));
+            }
+            try {
+                for (int i = 0; i < recipes.size(); i++) {
+                    if (itemErrors[i] == null) recipeIndexer.saved(recipes.get(i));
+                }
+            } catch (RuntimeException e) {
+                for (int i = 0; i < recipes.size(); i++) {
+                    if (itemErrors[i] == null) itemErrors[i] = "Indexing failed: " + e.getMessage();
+                }
+            }
+            for (int i = 0; i < recipes.size(); i++) {
+                Recipe recipe = recipes.get(i);
+                if (itemErrors[i] != null) {
+                    failed.incrementAndGet();
+                    error(pos[i], recipe.getId(), "failed", itemErrors[i]);
+                } else {
+                    imported.incrementAndGet();
+                }
+            }
+        }
+
+        /**
+         * Writes the last batch and waits for every write to complete.
+         */
+        ImportReport finish() throws IOException {
+            flush();
+            try {
+                inFlight.acquire(maxInFlight);
+                inFlight.release(maxInFlight);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Import interrupted");
+            }
+            running = false;
+            ImportReport report = report();
+            log.info("Import {} finished: {} imported, {} invalid, {} failed in {} ms",
+                    id, report.getImported(), report.getInvalid(), report.getFailed(), report.getElapsedMs());
+            return report;
+        }
+
+        /**
+         * Stops listing the import; batches already handed to writers still complete.
+         */
+        void abandon() {
+            running = false;
+            imports.remove(id);
+        }
+
+        ImportReport report() {
+            List<BulkItemResult> snapshot;
+            synchronized (errors) {
+                snapshot = List.copyOf(errors);
+            }
+            return new ImportReport(id, format, running, received.get(), imported.get(), invalid.get(), failed.get(),
+                    (System.nanoTime() - startNanos) / 1_000_000, snapshot);
+        }
+
+        private void error(long pos, Integer recipeId, String status, String message) {
+            synchronized (errors) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new BulkItemResult((int) Math.min(pos, Integer.MAX_VALUE), recipeId, status, message));
+                }
+            }
+        }
+
+        private void newBatch() {
+            batch = new ArrayList<>(batchSize);
+            positions = new long[batchSize];
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.ghadynazha.recipeapi.service;
+
+import com.ghadynazha.recipeapi.model.Recipe;
+
+/**
+ * An in-process read structure derived from the "recipes" collection.
+ *
+ * Implementations are registered as Spring beans and kept up to date by
+ * {@link RecipeIndexer}, which loads every recipe at startup and then forwards
+ * each write made through the API.
+ *
+ * Author: Ghady Nazha
+ */
+public interface RecipeIndex {
+    /**
+     * Adds a recipe to the index, replacing any previous version with the same ID.
+     *
+     * @param recipe the saved recipe
+     */
+    void index(Recipe recipe);
+
+    /**
+     * Removes a recipe from the index. Does nothing if the ID is not indexed.
+     *
+     * @param id the ID of the deleted recipe
+     */
+    void remove(Integer id);
+}
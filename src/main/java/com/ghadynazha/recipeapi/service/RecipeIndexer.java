@@ -0,0 +1,210 @@
+package com.ghadynazha.recipeapi.service;
+
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.repository.RecipeRepository;
+import com.ghadynazha.recipeapi.util.ETags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Service that keeps every {@link RecipeIndex} in sync with the "recipes" collection.
+ *
+ * All indexes are loaded once the application has started, then updated incrementally
+ * whenever a recipe is saved or deleted through the API. The initial load comes from the local
+ * catalog snapshot plus the changes since it when one is usable ({@link RecipeSnapshotService}),
+ * otherwise from a single MongoDB cursor whose recipes are also captured as the next snapshot.
+ *
+ * Writes made through this instance are reported with {@link #saved} and {@link #deleted},
+ * which also publish them to the other instances ({@link RecipeChangeOutbox}); changes made
+ * elsewhere arrive through {@link RecipeChangeFeed} and are only applied locally.
+ *
+ * Local writes, feed events and replays can reach the indexes out of order (a feed re-read may
+ * return v2 after this instance saved v3), so the indexed version of every recipe is tracked and
+ * a recipe is only forwarded if it is newer. Changes to one ID are serialized by a striped
+ * {@link ReentrantLock} (not a monitor, so waiting virtual threads do not pin their carrier).
+ * Deleted IDs are remembered for the replay overlap, so a read taken before a deletion cannot
+ * bring the recipe back; recipe IDs are never reused.
+ *
+ * Author: Ghady Nazha
+ */
+@Service
+public class RecipeIndexer {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeIndexer.class);
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final RecipeRepository recipeRepo;
+    private final List<RecipeIndex> indexes;
+    private final RecipeSnapshotService snapshots;
+    private final RecipeChangeOutbox outbox;
+    private final Duration deletedRetention;
+    private final ConcurrentHashMap<Integer, Long> versions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Long> deletedAt = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private volatile long sweptAt = System.currentTimeMillis();
+    private volatile boolean ready;
+    private volatile long loadStartedAt = -1;
+
+    /**
+     * Constructs the RecipeIndexer with the required dependencies.
+     *
+     * @param recipeRepo the repository used for the initial load
+     * @param indexes all registered recipe indexes
+     * @param snapshots the service restoring and capturing catalog snapshots
+     * @param outbox the outbox announcing this instance's writes to the others
+     * @param deletedRetention how long deleted IDs are remembered (the replay overlap)
+     */
+    public RecipeIndexer(RecipeRepository recipeRepo, List<RecipeIndex> indexes, RecipeSnapshotService snapshots,
+                         RecipeChangeOutbox outbox,
+                         @Value("${app.snapshot.replay-overlap:5m}") Duration deletedRetention) {
+        this.recipeRepo = recipeRepo;
+        this.indexes = indexes;
+        this.snapshots = snapshots;
+        this.outbox = outbox;
+        this.deletedRetention = deletedRetention;
+        for (int i = 0; i < LOCK_STRIPES; i++) locks[i] = new ReentrantLock();
+    }
+
+    /**
+     * Loads every recipe into all indexes once the application context has started.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    @Order(1)
+    public void load() {
+        long start = System.currentTimeMillis();
+        loadStartedAt = start;
+        OptionalLong restored = snapshots.restore(this::apply, this::applyDeletion);
+        if (restored.isPresent()) {
+            ready = true;
+            log.info("Indexed {} recipes from snapshot in {} ms", restored.getAsLong(), System.currentTimeMillis() - start);
+        } else {
+            long count = 0;
+            try (Stream<Recipe> recipes = recipeRepo.streamAllBy();
+                 RecipeSnapshotService.Capture snapshot = snapshots.begin(start)) {
+                for (Recipe recipe : (Iterable<Recipe>) recipes::iterator) {
+                    apply(recipe);
+                    snapshot.append(recipe);
+                    count++;
+                }
+                ready = true;
+                log.info("Indexed {} recipes in {} ms", count, System.currentTimeMillis() - start);
+                snapshot.commit();
+            }
+        }
+        snapshots.scheduleRefresh();
+    }
+
+    /**
+     * Forwards a recipe saved through this instance to all indexes and announces it to the other instances.
+     *
+     * @param recipe the recipe as stored in the database
+     */
+    public void saved(Recipe recipe) {
+        apply(recipe);
+        outbox.publish(List.of(recipe.getId()));
+    }
+
+    /**
+     * Forwards a recipe ID deleted through this instance to all indexes and announces it to the other instances.
+     *
+     * @param id the ID of the deleted recipe
+     */
+    public void deleted(Integer id) {
+        applyDeletion(id);
+        outbox.publish(List.of(id));
+    }
+
+    /**
+     * Forwards the current state of a recipe to all indexes without announcing it,
+     * for recipes loaded at startup or changed by another instance.
+     * Does nothing if the same or a newer version is already indexed, or the recipe was deleted.
+     *
+     * @param recipe the recipe as stored in the database
+     * @return true if the indexes were updated
+     */
+    public boolean apply(Recipe recipe) {
+        Integer id = recipe.getId();
+        long version = ETags.version(recipe);
+        // Compare and index under the ID's lock, so a stale read cannot overtake a newer one
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            Long indexed = versions.get(id);
+            if ((indexed != null && indexed >= version) || deletedAt.containsKey(id)) return false;
+            for (RecipeIndex index : indexes) {
+                index.index(recipe);
+            }
+            versions.put(id, version);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forwards a deleted recipe ID to all indexes without announcing it,
+     * for deletions replayed at startup or made by another instance.
+     *
+     * @param id the ID of the deleted recipe
+     */
+    public void applyDeletion(Integer id) {
+        long now = System.currentTimeMillis();
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            for (RecipeIndex index : indexes) {
+                index.remove(id);
+            }
+            versions.remove(id);
+            deletedAt.put(id, now);
+        } finally {
+            lock.unlock();
+        }
+        forgetOldDeletions(now);
+    }
+
+    /**
+     * Drops deleted IDs older than the retention, at most once per retention period.
+     */
+    private void forgetOldDeletions(long now) {
+        long retention = deletedRetention.toMillis();
+        if (now - sweptAt < retention) return;
+        sweptAt = now;
+        deletedAt.values().removeIf(at -> at < now - retention);
+    }
+
+    private ReentrantLock lockFor(Integer id) {
+        return locks[Math.floorMod(id.hashCode(), LOCK_STRIPES)];
+    }
+
+    /**
+     * Returns when the initial load started; every change made before then is reflected in the indexes.
+     *
+     * @return the load start time (epoch millis), or -1 before the load
+     */
+    public long loadStartedAt() {
+        return loadStartedAt;
+    }
+
+    /**
+     * Tells whether the initial load has completed.
+     *
+     * @return true once all indexes reflect the full collection
+     */
+    public boolean isReady() {
+        return ready;
+    }
+}
@@ -0,0 +1,493 @@
+package com.ghadynazha.recipeapi.service;
+
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.util.Levenshtein;
+import com.ghadynazha.recipeapi.util.Tokenizer;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over recipe titles, categories, ingredients and instructions,
+ * ranked with BM25.
+ *
+ * Every indexed recipe gets an internal ordinal; ordinals only grow, so posting lists are
+ * appended in sorted order and queries merge them document-at-a-time without a score
+ * accumulator. Re-indexing or removing a recipe retires its old ordinal, and retired
+ * ordinals are compacted away once they make up half of the index.
+ *
+ * Fuzzy queries first correct each query term against the index vocabulary: a trigram index
+ * over the terms proposes candidates, which are verified with a bounded Levenshtein distance.
+ * The work per query term is capped, so correcting a typo does not grow with the catalog.
+ *
+ * Author: Ghady Nazha
+ */
+@Service
+public class RecipeSearchIndex implements RecipeIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int INGREDIENT_WEIGHT = 2;
+    private static final int INSTRUCTIONS_WEIGHT = 1;
+
+    /**
+     * Gram-list entries scanned and candidates verified per fuzzy query term, at most.
+     */
+    private static final int MAX_GRAM_SCAN = 20_000;
+    private static final int MAX_VERIFIED = 1_000;
+
+    /**
+     * Vocabulary terms a fuzzy query term expands to, at most.
+     */
+    private static final int MAX_EXPANSIONS = 3;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final TermGrams grams = new TermGrams();
+    private final Map<Integer, Integer> ordinalById = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private int[] idByOrdinal = new int[1024];
+    private int[] lengthByOrdinal = new int[1024];
+    private int nextOrdinal;
+    private int liveCount;
+    private long totalLength;
+
+    /**
+     * Default constructor for RecipeSearchIndex.
+     */
+    public RecipeSearchIndex() {}
+
+    @Override
+    public void index(Recipe recipe) {
+        Map<String, Integer> freqs = new HashMap<>();
+        addTerms(freqs, recipe.getTitle(), TITLE_WEIGHT);
+        addTerms(freqs, recipe.getCategory(), CATEGORY_WEIGHT);
+        if (recipe.getIngredients() != null) {
+            for (String ingredient : recipe.getIngredients()) {
+                addTerms(freqs, ingredient, INGREDIENT_WEIGHT);
+            }
+        }
+        addTerms(freqs, recipe.getInstructions(), INSTRUCTIONS_WEIGHT);
+
+        lock.writeLock().lock();
+        try {
+            retire(recipe.getId());
+
+            int ordinal = nextOrdinal++;
+            if (ordinal == idByOrdinal.length) {
+                idByOrdinal = Arrays.copyOf(idByOrdinal, ordinal * 2);
+                lengthByOrdinal = Arrays.copyOf(lengthByOrdinal, ordinal * 2);
+            }
+
+            int length = 0;
+            for (Map.Entry<String, Integer> e : freqs.entrySet()) {
+                postings.computeIfAbsent(e.getKey(), this::newPostings).add(ordinal, e.getValue());
+                length += e.getValue();
+            }
+
+            idByOrdinal[ordinal] = recipe.getId();
+            lengthByOrdinal[ordinal] = length;
+            ordinalById.put(recipe.getId(), ordinal);
+            live.set(ordinal);
+            liveCount++;
+            totalLength += length;
+
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Integer id) {
+        lock.writeLock().lock();
+        try {
+            retire(id);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the index and returns the IDs of the best matching recipes.
+     * A recipe matches if it contains any query term; recipes containing more
+     * (and rarer) terms rank higher.
+     *
+     * @param query the free-text query
+     * @param limit the maximum number of IDs to return
+     * @return recipe IDs ordered from best to worst match
+     */
+    public List<Integer> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        if (terms.isEmpty() || limit < 1) return List.of();
+
+        lock.readLock().lock();
+        try {
+            if (liveCount == 0) return List.of();
+
+            List<Postings> lists = new ArrayList<>();
+            List<Float> weights = new ArrayList<>();
+            for (String term : terms) {
+                Postings p = postings.get(term);
+                if (p == null) continue;
+                lists.add(p);
+                weights.add(idf(p));
+            }
+            return rank(lists, weights, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the index like {@link #search}, but tolerates misspelled query terms.
+     * Each term is replaced by up to {@value #MAX_EXPANSIONS} indexed terms within its edit
+     * distance (none for terms up to 2 characters, 1 up to 5, otherwise 2), and matches
+     * through a corrected term score less the further it is from what was typed.
+     *
+     * @param query the free-text query
+     * @param limit the maximum number of IDs to return
+     * @return recipe IDs ordered from best to worst match
+     */
+    public List<Integer> fuzzySearch(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        if (terms.isEmpty() || limit < 1) return List.of();
+
+        lock.readLock().lock();
+        try {
+            if (liveCount == 0) return List.of();
+
+            Map<Postings, Float> weighted = new LinkedHashMap<>();
+            for (String term : terms) {
+                int maxDistance = term.length() <= 2 ? 0 : term.length() <= 5 ? 1 : 2;
+                for (Correction c : corrections(term, maxDistance)) {
+                    weighted.merge(c.postings, idf(c.postings) / (1 + c.distance), Math::max);
+                }
+            }
+            return rank(new ArrayList<>(weighted.keySet()), new ArrayList<>(weighted.values()), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the IDs of every recipe that contains any of the query terms, unranked.
+     * Used to narrow aggregate views (e.g., facets) to a search without scoring or a result limit.
+     *
+     * @param query the free-text query
+     * @return the matching recipe IDs, in no particular order
+     */
+    public int[] matchingIds(String query) {
+        Set<String> terms = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        if (terms.isEmpty()) return new int[0];
+
+        lock.readLock().lock();
+        try {
+            BitSet matches = new BitSet(nextOrdinal);
+            for (String term : terms) {
+                Postings p = postings.get(term);
+                if (p == null) continue;
+                for (int i = 0; i < p.size; i++) matches.set(p.docs[i]);
+            }
+            matches.and(live);
+            return matches.stream().map(ord -> idByOrdinal[ord]).toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of recipes currently in the index.
+     *
+     * @return the live document count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scores the documents in the given posting lists with BM25 and keeps the best.
+     * Caller must hold the read lock.
+     */
+    private List<Integer> rank(List<Postings> lists, List<Float> weights, int limit) {
+        if (lists.isEmpty()) return List.of();
+
+        float avgLength = (float) totalLength / liveCount;
+        int[] cursors = new int[lists.size()];
+        TopK top = new TopK(limit);
+
+        while (true) {
+            // Lowest ordinal among all cursors is the next candidate document
+            int doc = Integer.MAX_VALUE;
+            for (int t = 0; t < lists.size(); t++) {
+                Postings p = lists.get(t);
+                if (cursors[t] < p.size && p.docs[cursors[t]] < doc) doc = p.docs[cursors[t]];
+            }
+            if (doc == Integer.MAX_VALUE) break;
+
+            float score = 0;
+            float norm = K1 * (1 - B + B * lengthByOrdinal[doc] / avgLength);
+            for (int t = 0; t < lists.size(); t++) {
+                Postings p = lists.get(t);
+                if (cursors[t] < p.size && p.docs[cursors[t]] == doc) {
+                    int tf = p.freqs[cursors[t]++];
+                    score += weights.get(t) * tf * (K1 + 1) / (tf + norm);
+                }
+            }
+            if (live.get(doc)) top.offer(doc, score);
+        }
+
+        return top.ids(idByOrdinal);
+    }
+
+    private float idf(Postings p) {
+        // Posting sizes still count dead ordinals until compaction, so cap the document frequency
+        int df = Math.min(p.size, liveCount);
+        return (float) Math.log(1 + (liveCount - df + 0.5) / (df + 0.5));
+    }
+
+    /**
+     * Finds the indexed terms within the given edit distance of a query term, closest and
+     * most frequent first. Caller must hold the read lock.
+     *
+     * A term within distance k of the query shares all but at most 3k of its trigrams, so it
+     * must contain one of the query's (3k + 1) rarest trigrams; only those gram lists are scanned.
+     * Short terms can be within distance k without sharing any trigram ("pye" and "pie");
+     * those are not found, which keeps the scan bounded.
+     */
+    private List<Correction> corrections(String term, int maxDistance) {
+        List<Correction> found = new ArrayList<>();
+        Postings exact = postings.get(term);
+        if (exact != null) found.add(new Correction(exact, 0));
+        if (maxDistance == 0) return found;
+
+        Set<String> queryGrams = TermGrams.gramsOf(term);
+        List<GramList> lists = new ArrayList<>();
+        for (String gram : queryGrams) {
+            GramList list = grams.lists.get(gram);
+            if (list != null) lists.add(list);
+        }
+        // Grams no term contains are the rarest of all, so they count towards the (3k + 1)
+        int missing = queryGrams.size() - lists.size();
+        int needed = Math.max(0, Math.min(lists.size(), 3 * maxDistance + 1 - missing));
+        lists.sort((x, y) -> Integer.compare(x.size, y.size));
+
+        Map<Integer, Integer> shared = new HashMap<>();
+        int scanned = 0;
+        for (GramList list : lists.subList(0, needed)) {
+            for (int i = 0; i < list.size && scanned < MAX_GRAM_SCAN; i++, scanned++) {
+                shared.merge(list.terms[i], 1, Integer::sum);
+            }
+        }
+
+        List<Map.Entry<Integer, Integer>> candidates = new ArrayList<>(shared.entrySet());
+        candidates.sort(Map.Entry.<Integer, Integer>comparingByValue().reversed());
+        int verified = 0;
+        for (Map.Entry<Integer, Integer> candidate : candidates) {
+            if (verified++ == MAX_VERIFIED) break;
+            String other = grams.terms[candidate.getKey()];
+            if (other == null || other.equals(term)) continue;
+            int distance = Levenshtein.distance(term, other, maxDistance);
+            if (distance <= maxDistance) found.add(new Correction(postings.get(other), distance));
+        }
+
+        found.sort((x, y) -> x.distance != y.distance
+                ? Integer.compare(x.distance, y.distance)
+                : Integer.compare(y.postings.size, x.postings.size));
+        return found.size() > MAX_EXPANSIONS ? found.subList(0, MAX_EXPANSIONS) : found;
+    }
+
+    private Postings newPostings(String term) {
+        grams.add(term);
+        return new Postings();
+    }
+
+    private static void addTerms(Map<String, Integer> freqs, String text, int weight) {
+        for (String term : Tokenizer.tokenize(text)) {
+            freqs.merge(term, weight, Integer::sum);
+        }
+    }
+
+    /**
+     * Marks the current ordinal of a recipe as dead. Caller must hold the write lock.
+     */
+    private void retire(Integer id) {
+        Integer old = ordinalById.remove(id);
+        if (old != null) {
+            live.clear(old);
+            liveCount--;
+            totalLength -= lengthByOrdinal[old];
+        }
+    }
+
+    /**
+     * Drops dead ordinals from every posting list once they outnumber live ones.
+     * Ordinals are renumbered in order, so posting lists stay sorted. Caller must hold the write lock.
+     */
+    private void compactIfNeeded() {
+        int dead = nextOrdinal - liveCount;
+        if (dead < 1024 || dead < liveCount) return;
+
+        int[] remap = new int[nextOrdinal];
+        int next = 0;
+        for (int ord = 0; ord < nextOrdinal; ord++) {
+            if (live.get(ord)) {
+                remap[ord] = next;
+                idByOrdinal[next] = idByOrdinal[ord];
+                lengthByOrdinal[next] = lengthByOrdinal[ord];
+                ordinalById.put(idByOrdinal[next], next);
+                next++;
+            } else {
+                remap[ord] = -1;
+            }
+        }
+
+        Iterator<Postings> it = postings.values().iterator();
+        while (it.hasNext()) {
+            Postings p = it.next();
+            p.compact(remap);
+            if (p.size == 0) it.remove();
+        }
+        grams.retain(postings.keySet());
+
+        live.clear();
+        live.set(0, next);
+        nextOrdinal = next;
+    }
+
+    /**
+     * Posting list for one term: ordinals in ascending order with their weighted term frequencies.
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        private void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        private void compact(int[] remap) {
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                int mapped = remap[docs[i]];
+                if (mapped >= 0) {
+                    docs[n] = mapped;
+                    freqs[n] = freqs[i];
+                    n++;
+                }
+            }
+            size = n;
+        }
+    }
+
+    /**
+     * An indexed term standing in for a query term, and how far it is from it.
+     */
+    private record Correction(Postings postings, int distance) {}
+
+    /**
+     * Trigram index over the vocabulary: each term is padded with '$' on both sides, so
+     * "pie" yields "$pi", "pie" and "ie$". Terms get ascending IDs, so gram lists stay sorted.
+     */
+    private static final class TermGrams {
+        private final Map<String, GramList> lists = new HashMap<>();
+        private String[] terms = new String[1024];
+        private int nextId;
+
+        private static Set<String> gramsOf(String term) {
+            String padded = '$' + term + '$';
+            Set<String> grams = new LinkedHashSet<>();
+            for (int i = 0; i + 3 <= padded.length(); i++) grams.add(padded.substring(i, i + 3));
+            return grams;
+        }
+
+        private void add(String term) {
+            if (nextId == terms.length) terms = Arrays.copyOf(terms, nextId * 2);
+            int id = nextId++;
+            terms[id] = term;
+            for (String gram : gramsOf(term)) lists.computeIfAbsent(gram, g -> new GramList()).add(id);
+        }
+
+        /**
+         * Rebuilds the gram lists from the given vocabulary if terms have been dropped from it.
+         */
+        private void retain(Set<String> vocabulary) {
+            if (vocabulary.size() == nextId) return;
+            lists.clear();
+            Arrays.fill(terms, 0, nextId, null);
+            nextId = 0;
+            for (String term : vocabulary) add(term);
+        }
+    }
+
+    /**
+     * IDs of the vocabulary terms containing one trigram, in ascending order.
+     */
+    private static final class GramList {
+        private int[] terms = new int[4];
+        private int size;
+
+        private void add(int term) {
+            if (size == terms.length) terms = Arrays.copyOf(terms, size * 2);
+            terms[size++] = term;
+        }
+    }
+
+    /**
+     * Keeps the highest scoring ordinals seen so far, best first.
+     */
+    private static final class TopK {
+        private final int[] docs;
+        private final float[] scores;
+        private int size;
+
+        private TopK(int k) {
+            this.docs = new int[k];
+            this.scores = new float[k];
+        }
+
+        private void offer(int doc, float score) {
+            if (size == docs.length && score <= scores[size - 1]) return;
+            int i = size == docs.length ? size - 1 : size++;
+            while (i > 0 && scores[i - 1] < score) {
+                docs[i] = docs[i - 1];
+                scores[i] = scores[i - 1];
+                i--;
+            }
+            docs[i] = doc;
+            scores[i] = score;
+        }
+
+        private List<Integer> ids(int[] idByOrdinal) {
+            List<Integer> ids = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) ids.add(idByOrdinal[docs[i]]);
+            return ids;
+        }
+    }
+}
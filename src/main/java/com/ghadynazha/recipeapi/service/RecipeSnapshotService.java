@@ -0,0 +1,283 @@
+package com.ghadynazha.recipeapi.service;
+
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.repository.RecipeRepository;
+import com.ghadynazha.recipeapi.util.SnapshotFile;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Service that keeps a local binary snapshot of the recipe catalog, so a restarting node
+ * can fill its in-memory indexes without scanning the whole collection.
+ *
+ * The snapshot ({@link SnapshotFile}) is first written from the cursor of the full startup load,
+ * then refreshed periodically by merging the previous snapshot with the recipes modified and
+ * deleted since its watermark, so refreshes never scan the collection either. At startup,
+ * {@link #restore} memory-maps the snapshot and replays only the changes since the watermark:
+ * recipes by their {@code modifiedAt} index and deletions from the tombstone collection.
+ * Replay starts a configurable overlap before the watermark to absorb clock skew between nodes.
+ *
+ * Snapshots older than {@code max-age} are ignored, since the tombstones they would need
+ * may have expired, and so are snapshots taken from another database.
+ *
+ * Author: Ghady Nazha
+ */
+@Service
+public class RecipeSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeSnapshotService.class);
+
+    private final RecipeRepository recipeRepo;
+    private final String source;
+    private final boolean enabled;
+    private final Path path;
+    private final Duration interval;
+    private final Duration replayOverlap;
+    private final Duration maxAge;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("recipe-snapshot").daemon().factory());
+    private volatile long watermark = -1;
+
+    /**
+     * Constructs the RecipeSnapshotService with the required dependencies.
+     *
+     * @param recipeRepo the repository used to read changes since a snapshot
+     * @param mongoTemplate the template identifying the source database
+     * @param enabled whether snapshots are written and restored
+     * @param path the snapshot file
+     * @param interval how often the snapshot is refreshed
+     * @param replayOverlap how far before the watermark changes are replayed
+     * @param maxAge the oldest snapshot that is still restored (must stay below the tombstone TTL)
+     */
+    public RecipeSnapshotService(RecipeRepository recipeRepo, MongoTemplate mongoTemplate,
+                                 @Value("${app.snapshot.enabled:true}") boolean enabled,
+                                 @Value("${app.snapshot.path:data/recipes.snapshot}") Path path,
+                                 @Value("${app.snapshot.interval:15m}") Duration interval,
+                                 @Value("${app.snapshot.replay-overlap:5m}") Duration replayOverlap,
+                                 @Value("${app.snapshot.max-age:6d}") Duration maxAge) {
+        this.recipeRepo = recipeRepo;
+        this.source = mongoTemplate.getDb().getName();
+        this.enabled = enabled;
+        this.path = path;
+        this.interval = interval;
+        this.replayOverlap = replayOverlap;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Feeds the snapshot to the given consumers, then replays the recipes changed and deleted
+     * since its watermark.
+     *
+     * @param saved receives every recipe from the snapshot, then every changed recipe
+     * @param deleted receives the ID of every recipe deleted since the watermark
+     * @return the number of recipes restored, or empty if there is no usable snapshot
+     */
+    public OptionalLong restore(Consumer<Recipe> saved, Consumer<Integer> deleted) {
+        if (!enabled || !Files.isRegularFile(path)) return OptionalLong.empty();
+
+        SnapshotFile.Info info;
+        try {
+            info = SnapshotFile.read(path, this::usable, saved);
+        } catch (IOException e) {
+            log.warn("Ignoring recipe snapshot {}: {}", path, e.getMessage());
+            return OptionalLong.empty();
+        }
+        if (info == null) return OptionalLong.empty();
+
+        long since = info.watermark() - replayOverlap.toMillis();
+        long replayed = 0;
+        try (Stream<Recipe> changed = recipeRepo.streamModifiedSince(since)) {
+            for (Recipe recipe : (Iterable<Recipe>) changed::iterator) {
+                saved.accept(recipe);
+                replayed++;
+            }
+        }
+        List<Integer> removed = recipeRepo.findDeletedSince(since);
+        removed.forEach(deleted);
+
+        watermark = info.watermark();
+        log.info("Restored {} recipes from {}; replayed {} changes and {} deletions",
+                info.count(), path, replayed, removed.size());
+        return OptionalLong.of(info.count());
+    }
+
+    /**
+     * Starts capturing a snapshot from a full load. Failures to write are logged and
+     * never interrupt the load.
+     *
+     * @param watermark the time the full load started (epoch millis)
+     * @return a capture to pass every loaded recipe to
+     */
+    public Capture begin(long watermark) {
+        if (!enabled) return new Capture(null, watermark);
+        try {
+            return new Capture(SnapshotFile.create(path, watermark, source), watermark);
+        } catch (IOException e) {
+            log.warn("Cannot write recipe snapshot {}: {}", path, e.getMessage());
+            return new Capture(null, watermark);
+        }
+    }
+
+    /**
+     * Schedules periodic refreshes of the snapshot.
+     */
+    public void scheduleRefresh() {
+        if (!enabled) return;
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (IOException | RuntimeException e) {
+                log.warn("Recipe snapshot refresh failed: {}", e.getMessage());
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes a new snapshot: the previous one merged with the changes since its watermark,
+     * or a full cursor scan if there is no previous snapshot.
+     *
+     * @throws IOException if reading or writing the snapshot fails
+     */
+    void refresh() throws IOException {
+        long next = System.currentTimeMillis();
+        long previous = watermark;
+        long count;
+        try (SnapshotFile.Writer writer = SnapshotFile.create(path, next, source)) {
+            if (previous < 0 || !Files.isRegularFile(path)) {
+                try (Stream<Recipe> recipes = recipeRepo.streamAllBy()) {
+                    for (Recipe recipe : (Iterable<Recipe>) recipes::iterator) writer.append(recipe);
+                }
+            } else {
+                long since = previous - replayOverlap.toMillis();
+                Map<Integer, Recipe> changed = new HashMap<>();
+                try (Stream<Recipe> recipes = recipeRepo.streamModifiedSince(since)) {
+                    recipes.forEach(recipe -> changed.put(recipe.getId(), recipe));
+                }
+                Set<Integer> deleted = new HashSet<>(recipeRepo.findDeletedSince(since));
+
+                try {
+                    SnapshotFile.read(path, info -> true, recipe -> {
+                        if (deleted.contains(recipe.getId())) return;
+                        Recipe current = changed.remove(recipe.getId());
+                        append(writer, current != null ? current : recipe);
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                for (Recipe recipe : changed.values()) {
+                    if (!deleted.contains(recipe.getId())) writer.append(recipe);
+                }
+            }
+            count = writer.commit();
+        }
+        watermark = next;
+        log.info("Wrote recipe snapshot {} with {} recipes in {} ms", path, count, System.currentTimeMillis() - next);
+    }
+
+    /**
+     * Stops scheduled refreshes.
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private boolean usable(SnapshotFile.Info info) {
+        if (!source.equals(info.source())) {
+            log.warn("Ignoring recipe snapshot {}: taken from database {}", path, info.source());
+            return false;
+        }
+        if (System.currentTimeMillis() - info.watermark() > maxAge.toMillis()) {
+            log.warn("Ignoring recipe snapshot {}: older than {}", path, maxAge);
+            return false;
+        }
+        return true;
+    }
+
+    private static void append(SnapshotFile.Writer writer, Recipe recipe) {
+        try {
+            writer.append(recipe);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Captures the recipes of a full load into a new snapshot. A failed write is logged once;
+     * the rest of the load continues without a snapshot.
+     */
+    public final class Capture implements AutoCloseable {
+        private SnapshotFile.Writer writer;
+        private final long captureWatermark;
+
+        private Capture(SnapshotFile.Writer writer, long captureWatermark) {
+            this.writer = writer;
+            this.captureWatermark = captureWatermark;
+        }
+
+        /**
+         * Adds one recipe to the snapshot.
+         *
+         * @param recipe the recipe as loaded from the database
+         */
+        public void append(Recipe recipe) {
+            if (writer == null) return;
+            try {
+                writer.append(recipe);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        /**
+         * Publishes the snapshot once every recipe has been added.
+         */
+        public void commit() {
+            if (writer == null) return;
+            try {
+                long count = writer.commit();
+                watermark = captureWatermark;
+                log.info("Wrote recipe snapshot {} with {} recipes", path, count);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (writer == null) return;
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("Cannot clean up recipe snapshot {}: {}", path, e.getMessage());
+            }
+            writer = null;
+        }
+
+        private void fail(IOException e) {
+            log.warn("Cannot write recipe snapshot {}: {}", path, e.getMessage());
+            close();
+        }
+    }
+}
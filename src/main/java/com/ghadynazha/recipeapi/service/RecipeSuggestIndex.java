@@ -0,0 +1,408 @@
+package com.ghadynazha.recipeapi.service;
+
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.model.Suggestion;
+import com.ghadynazha.recipeapi.util.Tokenizer;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory autocomplete over recipe titles, categories and ingredient names.
+ *
+ * Each distinct phrase (per type, compared after {@link Tokenizer} folding) is counted by the
+ * number of recipes using it, and inserted into a path-compressed trie under every word start,
+ * so "brul" completes "Crème Brûlée". Every trie node keeps the top {@value #MAX_SUGGESTIONS}
+ * phrases of its subtree, so a lookup is a walk down the prefix plus a copy of that list, with
+ * no scan of matching entries. Counts, node lists and the trie shape are updated incrementally on
+ * every save and delete; the structure is built at startup by {@link RecipeIndexer}.
+ *
+ * Author: Ghady Nazha
+ */
+@Service
+public class RecipeSuggestIndex implements RecipeIndex {
+
+    /**
+     * Maximum number of suggestions returned for a prefix.
+     */
+    public static final int MAX_SUGGESTIONS = 10;
+
+    /**
+     * Number of leading words of a phrase that it can be completed from.
+     */
+    private static final int MAX_WORD_STARTS = 4;
+
+    private static final Phrase[] NONE = new Phrase[0];
+
+    /**
+     * Most used first; ties in alphabetical order.
+     */
+    private static final Comparator<Phrase> RANK = Comparator.comparingLong((Phrase p) -> -p.count)
+            .thenComparing(p -> p.key)
+            .thenComparing(p -> p.type);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node("");
+    private final Map<String, Phrase> phrases = new HashMap<>();
+    private final Map<Integer, Phrase[]> entries = new HashMap<>();
+
+    /**
+     * A completion candidate and the number of recipes using it.
+     */
+    private static final class Phrase {
+        final String type;
+        final String key;
+        final String text;
+        long count;
+
+        Phrase(String type, String key, String text) {
+            this.type = type;
+            this.key = key;
+            this.text = text;
+        }
+    }
+
+    /**
+     * A trie node; {@code label} is the edge from its parent. Children are kept sorted by first character.
+     */
+    private static final class Node {
+        String label;
+        char[] firsts = new char[0];
+        Node[] children = new Node[0];
+        Phrase[] terminals = NONE;
+        Phrase[] top = NONE;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(firsts, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        void putChild(Node child) {
+            char c = child.label.charAt(0);
+            int i = Arrays.binarySearch(firsts, c);
+            if (i >= 0) {
+                children[i] = child;
+                return;
+            }
+            int at = -i - 1;
+            firsts = insert(firsts, at, c);
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, at);
+            grown[at] = child;
+            System.arraycopy(children, at, grown, at + 1, children.length - at);
+            children = grown;
+        }
+
+        void removeChild(char c) {
+            int i = Arrays.binarySearch(firsts, c);
+            if (i < 0) return;
+            char[] f = new char[firsts.length - 1];
+            System.arraycopy(firsts, 0, f, 0, i);
+            System.arraycopy(firsts, i + 1, f, i, f.length - i);
+            Node[] n = new Node[children.length - 1];
+            System.arraycopy(children, 0, n, 0, i);
+            System.arraycopy(children, i + 1, n, i, n.length - i);
+            firsts = f;
+            children = n;
+        }
+
+        private static char[] insert(char[] array, int at, char c) {
+            char[] grown = new char[array.length + 1];
+            System.arraycopy(array, 0, grown, 0, at);
+            grown[at] = c;
+            System.arraycopy(array, at, grown, at + 1, array.length - at);
+            return grown;
+        }
+    }
+
+    /**
+     * Default constructor for RecipeSuggestIndex.
+     */
+    public RecipeSuggestIndex() {}
+
+    @Override
+    public void index(Recipe recipe) {
+        Map<String, String[]> wanted = phrasesOf(recipe);
+        lock.writeLock().lock();
+        try {
+            Phrase[] old = entries.getOrDefault(recipe.getId(), NONE);
+            Set<String> oldIds = new LinkedHashSet<>();
+            for (Phrase p : old) oldIds.add(id(p.type, p.key));
+            if (oldIds.equals(wanted.keySet())) return;
+
+            for (Phrase p : old) {
+                if (!wanted.containsKey(id(p.type, p.key))) decrement(p);
+            }
+            Phrase[] current = new Phrase[wanted.size()];
+            int i = 0;
+            for (Map.Entry<String, String[]> e : wanted.entrySet()) {
+                String[] typeKeyText = e.getValue();
+                Phrase p = phrases.get(e.getKey());
+                if (p == null) {
+                    p = new Phrase(typeKeyText[0], typeKeyText[1], typeKeyText[2]);
+                    phrases.put(e.getKey(), p);
+                }
+                if (!oldIds.contains(e.getKey())) increment(p);
+                current[i++] = p;
+            }
+            entries.put(recipe.getId(), current);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Integer id) {
+        lock.writeLock().lock();
+        try {
+            Phrase[] old = entries.remove(id);
+            if (old == null) return;
+            for (Phrase p : old) decrement(p);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the most used titles, categories and ingredients with a word starting with the prefix.
+     *
+     * @param prefix the text typed so far (case and accents are ignored)
+     * @param limit the maximum number of suggestions (at most {@value #MAX_SUGGESTIONS})
+     * @return the suggestions, most used first; empty for a blank prefix
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = String.join(" ", Tokenizer.tokenize(prefix));
+        if (key.isEmpty()) return List.of();
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int i = 0;
+            while (i < key.length()) {
+                Node child = node.child(key.charAt(i));
+                if (child == null) return List.of();
+                int remaining = key.length() - i;
+                if (child.label.length() >= remaining) {
+                    if (!child.label.startsWith(key.substring(i))) return List.of();
+                } else if (!key.startsWith(child.label, i)) {
+                    return List.of();
+                }
+                i += child.label.length();
+                node = child;
+            }
+            List<Suggestion> suggestions = new ArrayList<>(Math.min(limit, node.top.length));
+            for (int j = 0; j < node.top.length && j < limit; j++) {
+                Phrase p = node.top[j];
+                suggestions.add(new Suggestion(p.text, p.type, p.count));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Collects the distinct phrases of a recipe, by phrase ID, as {type, key, text}.
+     */
+    private static Map<String, String[]> phrasesOf(Recipe recipe) {
+        Map<String, String[]> wanted = new LinkedHashMap<>();
+        add(wanted, "title", recipe.getTitle());
+        add(wanted, "category", recipe.getCategory());
+        if (recipe.getIngredients() != null) {
+            for (String ingredient : recipe.getIngredients()) add(wanted, "ingredient", ingredient);
+        }
+        return wanted;
+    }
+
+    private static void add(Map<String, String[]> wanted, String type, String text) {
+        if (text == null) return;
+        String key = String.join(" ", Tokenizer.tokenize(text));
+        if (key.isEmpty()) return;
+        wanted.putIfAbsent(id(type, key), new String[] {type, key, text.trim()});
+    }
+
+    private static String id(String type, String key) {
+        return type + '\u0000' + key;
+    }
+
+    /**
+     * Returns the keys a phrase is inserted under: the phrase from each of its first word starts.
+     */
+    private static Set<String> keysOf(Phrase p) {
+        Set<String> keys = new LinkedHashSet<>();
+        int start = 0;
+        for (int w = 0; w < MAX_WORD_STARTS && start >= 0; w++) {
+            keys.add(p.key.substring(start));
+            int space = p.key.indexOf(' ', start);
+            start = space < 0 ? -1 : space + 1;
+        }
+        return keys;
+    }
+
+    private void increment(Phrase p) {
+        p.count++;
+        for (String key : keysOf(p)) {
+            List<Node> path = insertPath(key, p.count == 1 ? p : null);
+            for (Node node : path) promote(node, p);
+        }
+    }
+
+    private void decrement(Phrase p) {
+        p.count--;
+        if (p.count == 0) phrases.remove(id(p.type, p.key));
+        for (String key : keysOf(p)) {
+            List<Node> path = findPath(key);
+            if (path == null) continue;
+            Node end = path.get(path.size() - 1);
+            if (p.count == 0) end.terminals = without(end.terminals, p);
+
+            // Bottom-up, so every node is recomputed from children that are already correct
+            for (int j = path.size() - 1; j >= 0; j--) {
+                Node node = path.get(j);
+                if (j > 0 && node.terminals.length == 0 && node.children.length <= 1) {
+                    Node parent = path.get(j - 1);
+                    if (node.children.length == 0) {
+                        parent.removeChild(node.label.charAt(0));
+                        continue;
+                    }
+                    // Merge a pass-through node into its only child to keep the trie compressed
+                    Node only = node.children[0];
+                    only.label = node.label + only.label;
+                    parent.putChild(only);
+                    continue;
+                }
+                if (indexOf(node.top, p) >= 0) recompute(node);
+            }
+        }
+    }
+
+    /**
+     * Walks to the node for a key, creating and splitting nodes as needed, and returns the
+     * nodes on the way (root first). If {@code terminal} is given, it is registered at the end node.
+     */
+    private List<Node> insertPath(String key, Phrase terminal) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                child = new Node(key.substring(i));
+                node.putChild(child);
+                path.add(child);
+                node = child;
+                break;
+            }
+            int common = 0;
+            int max = Math.min(child.label.length(), key.length() - i);
+            while (common < max && child.label.charAt(common) == key.charAt(i + common)) common++;
+            if (common < child.label.length()) {
+                Node mid = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                mid.putChild(child);
+                mid.top = child.top.clone();
+                node.putChild(mid);
+                child = mid;
+            }
+            i += common;
+            path.add(child);
+            node = child;
+        }
+        if (terminal != null && indexOf(node.terminals, terminal) < 0) {
+            node.terminals = with(node.terminals, terminal);
+        }
+        return path;
+    }
+
+    /**
+     * Returns the nodes on the way to an existing key (root first), or null if the key is not in the trie.
+     */
+    private List<Node> findPath(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.child(key.charAt(i));
+            if (child == null || !key.startsWith(child.label, i)) return null;
+            i += child.label.length();
+            path.add(child);
+            node = child;
+        }
+        return path;
+    }
+
+    /**
+     * Moves a phrase whose count grew into its place in a node's list, if it now ranks high enough.
+     */
+    private static void promote(Node node, Phrase p) {
+        Phrase[] top = node.top;
+        int i = indexOf(top, p);
+        if (i < 0) {
+            if (top.length < MAX_SUGGESTIONS) {
+                top = Arrays.copyOf(top, top.length + 1);
+            } else if (RANK.compare(p, top[top.length - 1]) >= 0) {
+                return;
+            }
+            i = top.length - 1;
+            top[i] = p;
+            node.top = top;
+        }
+        while (i > 0 && RANK.compare(top[i], top[i - 1]) < 0) {
+            Phrase swap = top[i - 1];
+            top[i - 1] = top[i];
+            top[i] = swap;
+            i--;
+        }
+    }
+
+    /**
+     * Rebuilds a node's list from its own phrases and its children's lists.
+     */
+    private static void recompute(Node node) {
+        List<Phrase> candidates = new ArrayList<>(Arrays.asList(node.terminals));
+        for (Node child : node.children) {
+            for (Phrase p : child.top) {
+                if (!candidates.contains(p)) candidates.add(p);
+            }
+        }
+        candidates.sort(RANK);
+        node.top = candidates.subList(0, Math.min(MAX_SUGGESTIONS, candidates.size())).toArray(NONE);
+    }
+
+    private static int indexOf(Phrase[] array, Phrase p) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i] == p) return i;
+        }
+        return -1;
+    }
+
+    private static Phrase[] with(Phrase[] array, Phrase p) {
+        Phrase[] grown = Arrays.copyOf(array, array.length + 1);
+        grown[array.length] = p;
+        return grown;
+    }
+
+    private static Phrase[] without(Phrase[] array, Phrase p) {
+        int i = indexOf(array, p);
+        if (i < 0) return array;
+        Phrase[] shrunk = new Phrase[array.length - 1];
+        System.arraycopy(array, 0, shrunk, 0, i);
+        System.arraycopy(array, i + 1, shrunk, i, shrunk.length - i);
+        return shrunk;
+    }
+}
@@ -0,0 +1,69 @@
+package com.ghadynazha.recipeapi.service;
+
+import com.ghadynazha.recipeapi.model.User;
+import com.ghadynazha.recipeapi.repository.UserRepository;
+import com.ghadynazha.recipeapi.util.BloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.stream.Stream;
+
+/**
+ * Probabilistic set of usernames that are already taken.
+ *
+ * Signup consults it before touching the database: a username the filter has never
+ * seen is inserted straight away, and only "possibly taken" names are looked up.
+ * Correctness never depends on the filter: the unique index on {@code username}
+ * rejects any duplicate it misses (e.g., one created on another node).
+ *
+ * Author: Ghady Nazha
+ */
+@Service
+public class UsernameFilter {
+
+    private final UserRepository userRepo;
+    private final BloomFilter filter;
+
+    /**
+     * Constructs the UsernameFilter with the required dependencies.
+     *
+     * @param userRepo the repository used for the initial load
+     * @param expectedUsers the number of users the filter is sized for
+     */
+    public UsernameFilter(UserRepository userRepo,
+                          @Value("${app.signup.expected-users:1000000}") long expectedUsers) {
+        this.userRepo = userRepo;
+        this.filter = new BloomFilter(expectedUsers, 0.01);
+    }
+
+    /**
+     * Loads all existing usernames once the application context has started.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void load() {
+        try (Stream<User> users = userRepo.streamUsernamesBy()) {
+            users.forEach(u -> add(u.getUsername()));
+        }
+    }
+
+    /**
+     * Tells whether a username may already be taken.
+     *
+     * @param username the username to check
+     * @return false if it is definitely free on this node's knowledge, true if it may be taken
+     */
+    public boolean mightBeTaken(String username) {
+        return filter.mightContain(username);
+    }
+
+    /**
+     * Records a username as taken.
+     *
+     * @param username the username to add
+     */
+    public void add(String username) {
+        if (username != null) filter.add(username);
+    }
+}
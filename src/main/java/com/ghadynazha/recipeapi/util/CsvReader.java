@@ -0,0 +1,94 @@
+package com.ghadynazha.recipeapi.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental RFC 4180 CSV reader: returns one record at a time, so memory use does not
+ * depend on the size of the input.
+ *
+ * Fields may be quoted with double quotes; quoted fields can contain commas, line breaks
+ * and doubled quotes. Both LF and CRLF line endings are accepted.
+ *
+ * Author: Ghady Nazha
+ */
+public class CsvReader implements Closeable {
+
+    private final Reader in;
+    private final StringBuilder field = new StringBuilder();
+    private int pushback = -2;
+
+    /**
+     * Creates a reader over a character stream; the stream should be buffered.
+     *
+     * @param in the CSV input
+     */
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the fields of the record, or null at the end of the input
+     * @throws IOException if reading fails or a quoted field is not closed
+     */
+    public List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) return null;
+
+        List<String> record = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) throw new IOException("Unterminated quoted field");
+                if (c == '"') {
+                    int n = read();
+                    if (n == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = n;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else if (c == '\r') {
+                int n = read();
+                if (n != '\n') pushback = n;
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+        record.add(field.toString());
+        return record;
+    }
+
+    private int read() throws IOException {
+        if (pushback != -2) {
+            int c = pushback;
+            pushback = -2;
+            return c;
+        }
+        return in.read();
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
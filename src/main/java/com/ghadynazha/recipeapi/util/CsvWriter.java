@@ -0,0 +1,47 @@
+package com.ghadynazha.recipeapi.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 CSV writer. Fields containing commas, quotes or line breaks are quoted,
+ * and records end with CRLF.
+ *
+ * Author: Ghady Nazha
+ */
+public class CsvWriter {
+
+    private final Writer out;
+
+    /**
+     * Creates a writer over a character stream; the stream should be buffered.
+     *
+     * @param out the CSV output
+     */
+    public CsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes one record.
+     *
+     * @param fields the field values; null is written as an empty field
+     * @throws IOException if writing fails
+     */
+    public void write(List<String> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) out.write(',');
+            String value = fields.get(i);
+            if (value == null) continue;
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                out.write(value);
+            } else {
+                out.write('"');
+                out.write(value.replace("\"", "\"\""));
+                out.write('"');
+            }
+        }
+        out.write("\r\n");
+    }
+}
@@ -0,0 +1,83 @@
+package com.ghadynazha.recipeapi.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Utility class for encoding and decoding opaque keyset-pagination cursors.
+ *
+ * A cursor records the sort field, the sort value of the last returned item and
+ * its ID, so the next page can resume with an index range scan instead of a skip.
+ * The encoded form is URL-safe Base64 and should be treated as opaque by clients.
+ *
+ * Author: Ghady Nazha
+ */
+public class CursorCodec {
+
+    /**
+     * Private constructor to prevent instantiation.
+     * This is a utility class that only contains static methods.
+     */
+    private CursorCodec() {}
+
+    /**
+     * A decoded cursor position.
+     *
+     * @param sortBy the field the listing is sorted by
+     * @param value the sort value of the last returned item (String, Integer, or null)
+     * @param id the ID of the last returned item
+     */
+    public record Position(String sortBy, Object value, Integer id) {}
+
+    /**
+     * Encodes a position into an opaque cursor string.
+     *
+     * @param position the position to encode
+     * @return the URL-safe cursor string
+     */
+    public static String encode(Position position) {
+        Object value = position.value();
+        String typed;
+        if (value == null) typed = "n";
+        else if (value instanceof Integer) typed = "i" + value;
+        else typed = "s" + value;
+
+        String raw = position.sortBy() + "\n" + position.id() + "\n" + typed;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor string produced by {@link #encode(Position)}.
+     *
+     * @param cursor the cursor string
+     * @return the decoded position
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static Position decode(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        String[] parts = raw.split("\n", 3);
+        if (parts.length != 3 || parts[2].isEmpty()) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        try {
+            Integer id = Integer.valueOf(parts[1]);
+            String typed = parts[2];
+            Object value = switch (typed.charAt(0)) {
+                case 'n' -> null;
+                case 'i' -> Integer.valueOf(typed.substring(1));
+                case 's' -> typed.substring(1);
+                default -> throw new IllegalArgumentException("Invalid cursor");
+            };
+            return new Position(parts[0], value, id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
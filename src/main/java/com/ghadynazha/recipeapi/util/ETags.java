@@ -0,0 +1,140 @@
+package com.ghadynazha.recipeapi.util;
+
+import com.ghadynazha.recipeapi.model.Recipe;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
+
+/**
+ * Utility class for computing and parsing recipe entity tags.
+ *
+ * A single recipe's ETag is derived from its ID and version, so it can be checked
+ * without loading or serializing the document. A list's ETag is a digest of the IDs
+ * and versions of its items plus any metadata that appears in the response body,
+ * so an unchanged list is recognized before it is serialized. The gzip-encoded body of a
+ * recipe is a different byte sequence, so it carries its own tag ({@code "id.version-gz"}).
+ *
+ * Author: Ghady Nazha
+ */
+public class ETags {
+
+    /**
+     * Private constructor to prevent instantiation.
+     * This is a utility class that only contains static methods.
+     */
+    private ETags() {}
+
+    private static final String GZIP_SUFFIX = "-gz";
+
+    /**
+     * Returns the version of a recipe, treating unversioned (legacy) recipes as version 0.
+     *
+     * @param recipe the recipe
+     * @return the version
+     */
+    public static long version(Recipe recipe) {
+        return recipe.getVersion() == null ? 0 : recipe.getVersion();
+    }
+
+    /**
+     * Computes the strong ETag of a single recipe revision.
+     *
+     * @param id the recipe ID
+     * @param version the recipe version
+     * @return the quoted ETag value
+     */
+    public static String of(Integer id, long version) {
+        return "\"" + id + "." + version + "\"";
+    }
+
+    /**
+     * Computes the strong ETag of a single recipe.
+     *
+     * @param recipe the recipe
+     * @return the quoted ETag value
+     */
+    public static String of(Recipe recipe) {
+        return of(recipe.getId(), version(recipe));
+    }
+
+    /**
+     * Computes the strong ETag of the gzip-encoded representation for a given ETag.
+     *
+     * @param etag the quoted ETag of the identity representation
+     * @return the quoted ETag of the gzip representation
+     */
+    public static String gzip(String etag) {
+        return etag.substring(0, etag.length() - 1) + GZIP_SUFFIX + "\"";
+    }
+
+    /**
+     * Finds the tag an If-None-Match header matches, using the weak comparison that
+     * applies to GET and HEAD; {@code *} matches the first tag.
+     *
+     * @param ifNoneMatch the If-None-Match header value
+     * @param etags the quoted ETags of the current representations
+     * @return the matching tag, or null if none matches
+     */
+    public static String matching(String ifNoneMatch, String... etags) {
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*")) return etags[0];
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            for (String etag : etags) {
+                if (etag.equals(tag)) return etag;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Computes the strong ETag of a list response.
+     *
+     * @param recipes the recipes in response order
+     * @param metadata other values rendered in the response (e.g., totals, cursors)
+     * @return the quoted ETag value
+     */
+    public static String of(Collection<Recipe> recipes, Object... metadata) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Object value : metadata) sb.append(value).append('|');
+        for (Recipe recipe : recipes) sb.append(recipe.getId()).append('.').append(version(recipe)).append(',');
+        byte[] hash = digest.digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+        return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22) + "\"";
+    }
+
+    /**
+     * Extracts the version a client expects from an If-Match header.
+     * Only strong tags for the given recipe are accepted, in identity or gzip form;
+     * {@code *} matches any version.
+     *
+     * @param ifMatch the If-Match header value
+     * @param id the ID of the recipe being written
+     * @return the expected version, or null for {@code *}
+     * @throws IllegalArgumentException if no tag refers to this recipe
+     */
+    public static Long expectedVersion(String ifMatch, Integer id) {
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*")) return null;
+            if (tag.endsWith(GZIP_SUFFIX + "\"")) tag = tag.substring(0, tag.length() - GZIP_SUFFIX.length() - 1) + "\"";
+            String prefix = "\"" + id + ".";
+            if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+                try {
+                    return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+                } catch (NumberFormatException ignored) {
+                    // Not one of our tags; keep looking
+                }
+            }
+        }
+        throw new IllegalArgumentException("If-Match does not match the current version");
+    }
+}
@@ -0,0 +1,61 @@
+package com.ghadynazha.recipeapi.util;
+
+/**
+ * Utility class for bounded Levenshtein (edit) distance.
+ *
+ * Only the diagonal band of width {@code 2 * max + 1} is computed, so checking a pair
+ * costs O(max * length) instead of O(length²), and the computation stops as soon as
+ * every cell in a row exceeds the bound.
+ *
+ * Author: Ghady Nazha
+ */
+public class Levenshtein {
+
+    /**
+     * Private constructor to prevent instantiation.
+     * This is a utility class that only contains static methods.
+     */
+    private Levenshtein() {}
+
+    /**
+     * Returns the number of single-character insertions, deletions and substitutions
+     * that turn one string into the other, if it is at most {@code max}.
+     *
+     * @param a the first string
+     * @param b the second string
+     * @param max the largest distance of interest
+     * @return the distance, or {@code max + 1} if it is larger than {@code max}
+     */
+    public static int distance(CharSequence a, CharSequence b, int max) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > max) return max + 1;
+        if (n == 0 || m == 0) return Math.max(n, m);
+
+        int over = max + 1;
+        int[] prev = new int[m + 1];
+        int[] curr = new int[m + 1];
+        for (int j = 0; j <= m; j++) prev[j] = j <= max ? j : over;
+
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(m, i + max);
+            curr[0] = i <= max ? i : over;
+            if (from > 1) curr[from - 1] = over;
+            int rowMin = curr[0];
+            char ca = a.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                int d = Math.min(prev[j - 1] + cost, Math.min(prev[j], curr[j - 1]) + 1);
+                curr[j] = Math.min(d, over);
+                rowMin = Math.min(rowMin, curr[j]);
+            }
+            if (to < m) curr[to + 1] = over;
+            if (rowMin > max) return over;
+            int[] swap = prev;
+            prev = curr;
+            curr = swap;
+        }
+        return Math.min(prev[m], over);
+    }
+}
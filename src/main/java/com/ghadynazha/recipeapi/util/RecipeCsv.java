@@ -0,0 +1,120 @@
+package com.ghadynazha.recipeapi.util;
+
+import com.ghadynazha.recipeapi.model.Recipe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utility class mapping recipes to and from CSV rows for import and export.
+ *
+ * Columns are id, title, ingredients, instructions, cookingTime and category; ingredients
+ * are joined with {@code |} in a single field. On import the header decides the column
+ * order, only title and instructions are required, and id is ignored.
+ *
+ * Author: Ghady Nazha
+ */
+public class RecipeCsv {
+
+    /**
+     * The export header, in column order.
+     */
+    public static final List<String> HEADER =
+            List.of("id", "title", "ingredients", "instructions", "cookingTime", "category");
+
+    private static final String INGREDIENT_SEPARATOR = "|";
+
+    /**
+     * Private constructor to prevent instantiation.
+     * This is a utility class that only contains static methods.
+     */
+    private RecipeCsv() {}
+
+    /**
+     * Converts a recipe to a row in {@link #HEADER} order.
+     *
+     * @param recipe the recipe
+     * @return the field values
+     */
+    public static List<String> toRow(Recipe recipe) {
+        return Arrays.asList(
+                recipe.getId() == null ? null : recipe.getId().toString(),
+                recipe.getTitle(),
+                recipe.getIngredients() == null ? null : String.join(INGREDIENT_SEPARATOR, recipe.getIngredients()),
+                recipe.getInstructions(),
+                Integer.toString(recipe.getCookingTime()),
+                recipe.getCategory());
+    }
+
+    /**
+     * Maps a header row to column positions.
+     *
+     * @param header the header fields
+     * @return the position of each column by name
+     * @throws IllegalArgumentException if a column is unknown or repeated
+     */
+    public static Map<String, Integer> columns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim();
+            if (i == 0 && name.startsWith("\uFEFF")) name = name.substring(1);
+            if (!HEADER.contains(name)) {
+                throw new IllegalArgumentException("Unknown CSV column: " + name + " (expected " + HEADER + ")");
+            }
+            if (columns.put(name, i) != null) {
+                throw new IllegalArgumentException("Duplicate CSV column: " + name);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Converts a row to a new recipe without an ID.
+     *
+     * @param columns the column positions from {@link #columns}
+     * @param row the field values
+     * @return the recipe
+     * @throws IllegalArgumentException if the row has the wrong width or cookingTime is not an integer
+     */
+    public static Recipe fromRow(Map<String, Integer> columns, List<String> row) {
+        if (row.size() != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " fields but found " + row.size());
+        }
+        Recipe recipe = new Recipe();
+        recipe.setTitle(field(columns, row, "title"));
+        recipe.setInstructions(field(columns, row, "instructions"));
+        recipe.setCategory(field(columns, row, "category"));
+
+        String ingredients = field(columns, row, "ingredients");
+        if (ingredients != null) {
+            List<String> list = new ArrayList<>();
+            for (String ingredient : ingredients.split("\\|")) {
+                if (!ingredient.isBlank()) list.add(ingredient.trim());
+            }
+            recipe.setIngredients(list);
+        }
+
+        String cookingTime = field(columns, row, "cookingTime");
+        if (cookingTime != null) {
+            try {
+                recipe.setCookingTime(Integer.parseInt(cookingTime.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("cookingTime must be an integer");
+            }
+        }
+        return recipe;
+    }
+
+    /**
+     * Returns a column's value, or null if the column is absent or the field is empty.
+     */
+    private static String field(Map<String, Integer> columns, List<String> row, String name) {
+        Integer pos = columns.get(name);
+        if (pos == null) return null;
+        String value = row.get(pos);
+        return value.isEmpty() ? null : value;
+    }
+}
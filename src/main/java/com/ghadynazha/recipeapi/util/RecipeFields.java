@@ -0,0 +1,93 @@
+package com.ghadynazha.recipeapi.util;
+
+import com.ghadynazha.recipeapi.model.Recipe;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Utility class for sparse fieldsets on recipe list responses.
+ *
+ * A {@code fields} parameter is a comma-separated list of recipe properties, or
+ * {@code summary} for the fields list screens need (id, title, category, cookingTime).
+ * The selected fields are used both as the MongoDB projection and to shape the
+ * response, so unrequested fields are neither read nor sent.
+ *
+ * Author: Ghady Nazha
+ */
+public class RecipeFields {
+
+    /**
+     * Every recipe property that can be selected, in response order.
+     */
+    public static final List<String> ALL =
+            List.of("id", "title", "ingredients", "instructions", "cookingTime", "category", "version");
+
+    /**
+     * The fields of the built-in "summary" view.
+     */
+    public static final Set<String> SUMMARY = Set.of("id", "title", "category", "cookingTime");
+
+    /**
+     * Private constructor to prevent instantiation.
+     * This is a utility class that only contains static methods.
+     */
+    private RecipeFields() {}
+
+    /**
+     * Parses a {@code fields} parameter. The ID is always included.
+     *
+     * @param fields the parameter value, e.g. "title,category" or "summary"; null for all fields
+     * @return the selected fields in response order, or null if all fields are requested
+     * @throws IllegalArgumentException if a field name is unknown
+     */
+    public static Set<String> parse(String fields) {
+        if (fields == null || fields.isBlank()) return null;
+
+        Set<String> requested = new LinkedHashSet<>();
+        requested.add("id");
+        for (String field : fields.split(",")) {
+            field = field.trim();
+            if (field.isEmpty()) continue;
+            if (field.equals("summary")) {
+                requested.addAll(SUMMARY);
+            } else if (ALL.contains(field)) {
+                requested.add(field);
+            } else {
+                throw new IllegalArgumentException("Unknown field '" + field + "'; use summary or any of " + ALL);
+            }
+        }
+
+        Set<String> ordered = new LinkedHashSet<>();
+        for (String field : ALL) {
+            if (requested.contains(field)) ordered.add(field);
+        }
+        return ordered;
+    }
+
+    /**
+     * Copies the selected fields of a (possibly projected) recipe into a map for serialization.
+     *
+     * @param recipe the recipe
+     * @param fields the fields to copy, as returned by {@link #parse(String)}
+     * @return the selected fields by name, in response order
+     */
+    public static Map<String, Object> select(Recipe recipe, Set<String> fields) {
+        Map<String, Object> selected = new LinkedHashMap<>();
+        for (String field : fields) {
+            selected.put(field, switch (field) {
+                case "id" -> recipe.getId();
+                case "title" -> recipe.getTitle();
+                case "ingredients" -> recipe.getIngredients();
+                case "instructions" -> recipe.getInstructions();
+                case "cookingTime" -> recipe.getCookingTime();
+                case "category" -> recipe.getCategory();
+                default -> recipe.getVersion();
+            });
+        }
+        return selected;
+    }
+}
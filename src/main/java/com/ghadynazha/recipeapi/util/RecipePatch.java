@@ -0,0 +1,74 @@
+package com.ghadynazha.recipeapi.util;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utility class for validating partial recipe updates (PATCH bodies).
+ *
+ * A patch is a JSON object holding only the fields to change, in the style of
+ * JSON Merge Patch: a field set to null is cleared. Fields that a recipe requires
+ * cannot be cleared, and the ID and version cannot be patched.
+ *
+ * Author: Ghady Nazha
+ */
+public class RecipePatch {
+
+    /**
+     * Private constructor to prevent instantiation.
+     * This is a utility class that only contains static methods.
+     */
+    private RecipePatch() {}
+
+    /**
+     * Validates a patch body and converts its values to the types stored for each field.
+     *
+     * @param body the parsed request body
+     * @return the fields to set, by name
+     * @throws IllegalArgumentException if the patch is empty or any field is unknown or invalid
+     */
+    public static Map<String, Object> validate(Map<String, Object> body) {
+        if (body == null || body.isEmpty()) {
+            throw new IllegalArgumentException("No fields to update");
+        }
+
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> e : body.entrySet()) {
+            Object value = e.getValue();
+            switch (e.getKey()) {
+                case "title" -> changes.put("title", requireText(value, "Title is required"));
+                case "instructions" -> changes.put("instructions", requireText(value, "Instructions are required"));
+                case "category" -> {
+                    if (value != null && !(value instanceof String)) {
+                        throw new IllegalArgumentException("category must be a string");
+                    }
+                    changes.put("category", value);
+                }
+                case "ingredients" -> {
+                    if (value != null && !(value instanceof List<?> list && list.stream().allMatch(i -> i instanceof String))) {
+                        throw new IllegalArgumentException("ingredients must be a list of strings");
+                    }
+                    changes.put("ingredients", value);
+                }
+                case "cookingTime" -> {
+                    if (!(value instanceof Integer || value instanceof Long)
+                            || ((Number) value).longValue() != ((Number) value).intValue()) {
+                        throw new IllegalArgumentException("cookingTime must be a whole number of minutes");
+                    }
+                    changes.put("cookingTime", ((Number) value).intValue());
+                }
+                case "id", "version" -> throw new IllegalArgumentException(e.getKey() + " cannot be changed");
+                default -> throw new IllegalArgumentException("Unknown field '" + e.getKey() + "'");
+            }
+        }
+        return changes;
+    }
+
+    private static String requireText(Object value, String message) {
+        if (!(value instanceof String text) || text.isBlank()) {
+            throw new IllegalArgumentException(message);
+        }
+        return text;
+    }
+}
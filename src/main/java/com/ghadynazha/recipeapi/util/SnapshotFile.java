@@ -0,0 +1,274 @@
+package com.ghadynazha.recipeapi.util;
+
+import com.ghadynazha.recipeapi.model.Recipe;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Compact binary snapshot of the recipe catalog, read through memory-mapped I/O.
+ *
+ * Layout: a header (magic, format, watermark, source), one length-prefixed record per recipe,
+ * and a trailer with the record count and a CRC32C of everything before it. Records are
+ * unordered. Files are written to a temporary sibling and atomically moved into place, so a
+ * reader sees either the previous snapshot or the complete new one; the checksum catches
+ * anything else. Snapshots larger than 2 GB are mapped one window at a time.
+ *
+ * Author: Ghady Nazha
+ */
+public class SnapshotFile {
+
+    private static final long MAGIC = 0x5243505F534E4150L; // "RCP_SNAP"
+    private static final int FORMAT = 1;
+    private static final int TRAILER_BYTES = Long.BYTES * 2;
+    private static final long WINDOW = 256L << 20;
+    private static final long NONE = Long.MIN_VALUE;
+
+    /**
+     * Private constructor to prevent instantiation.
+     * This is a utility class that only contains static methods.
+     */
+    private SnapshotFile() {}
+
+    /**
+     * Header of a snapshot.
+     *
+     * @param watermark the time (epoch millis) from which changes must be replayed
+     * @param source the database the snapshot was taken from
+     * @param count the number of recipes in the snapshot
+     */
+    public record Info(long watermark, String source, long count) {}
+
+    /**
+     * Verifies a snapshot and, if its header is accepted, feeds every recipe in it to the consumer.
+     * Nothing is passed to the consumer unless the whole file is intact.
+     *
+     * @param path the snapshot file
+     * @param accept decides from the header whether the recipes should be read
+     * @param sink receives each recipe
+     * @return the snapshot header, or null if it was not accepted
+     * @throws IOException if the file cannot be read, is not a snapshot, or fails its checksum
+     */
+    public static Info read(Path path, Predicate<Info> accept, Consumer<Recipe> sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < Long.BYTES + Integer.BYTES + TRAILER_BYTES) throw new IOException("Snapshot is truncated");
+            long body = size - TRAILER_BYTES;
+
+            ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, body, TRAILER_BYTES);
+            long count = trailer.getLong();
+            long checksum = trailer.getLong();
+
+            // Verify before yielding anything, so a damaged file never reaches the indexes
+            CRC32C crc = new CRC32C();
+            for (long pos = 0; pos < body; pos += WINDOW) {
+                crc.update(channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(WINDOW, body - pos)));
+            }
+            if (crc.getValue() != checksum) throw new IOException("Snapshot checksum mismatch");
+
+            Cursor in = new Cursor(channel, body);
+            if (in.getLong() != MAGIC) throw new IOException("Not a recipe snapshot");
+            if (in.getInt() != FORMAT) throw new IOException("Unsupported snapshot format");
+            Info info = new Info(in.getLong(), in.getString(), count);
+            if (!accept.test(info)) return null;
+
+            for (long i = 0; i < count; i++) {
+                int length = in.getInt();
+                in.require(length);
+                sink.accept(in.getRecipe());
+            }
+            return info;
+        }
+    }
+
+    /**
+     * Starts a new snapshot; it replaces the file at {@code path} only when committed.
+     *
+     * @param path the snapshot file
+     * @param watermark the time (epoch millis) from which changes must be replayed after loading it
+     * @param source the database the recipes are read from
+     * @return the writer
+     * @throws IOException if the temporary file cannot be created
+     */
+    public static Writer create(Path path, long watermark, String source) throws IOException {
+        return new Writer(path, watermark, source);
+    }
+
+    /**
+     * Writes recipes to a temporary file and moves it into place on {@link #commit()}.
+     * Closing an uncommitted writer deletes the temporary file.
+     */
+    public static class Writer implements Closeable {
+        private final Path target;
+        private final Path temp;
+        private final FileChannel channel;
+        private final CRC32C crc = new CRC32C();
+        private final DataOutputStream out;
+        private final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream(1024);
+        private final DataOutputStream record = new DataOutputStream(recordBytes);
+        private long count;
+        private boolean committed;
+
+        private Writer(Path target, long watermark, String source) throws IOException {
+            this.target = target;
+            Path dir = target.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            this.temp = Files.createTempFile(dir, target.getFileName().toString(), ".tmp");
+            this.channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+            OutputStream file = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+            this.out = new DataOutputStream(new CheckedOutputStream(file, crc));
+            out.writeLong(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeLong(watermark);
+            writeString(out, source);
+        }
+
+        /**
+         * Appends one recipe.
+         *
+         * @param recipe the recipe as stored in the database
+         * @throws IOException if writing fails
+         */
+        public void append(Recipe recipe) throws IOException {
+            recordBytes.reset();
+            record.writeInt(recipe.getId());
+            record.writeLong(recipe.getVersion() == null ? NONE : recipe.getVersion());
+            record.writeLong(recipe.getModifiedAt() == null ? NONE : recipe.getModifiedAt());
+            record.writeInt(recipe.getCookingTime());
+            writeString(record, recipe.getTitle());
+            writeString(record, recipe.getInstructions());
+            writeString(record, recipe.getCategory());
+            List<String> ingredients = recipe.getIngredients();
+            record.writeInt(ingredients == null ? -1 : ingredients.size());
+            if (ingredients != null) {
+                for (String ingredient : ingredients) writeString(record, ingredient);
+            }
+            out.writeInt(recordBytes.size());
+            recordBytes.writeTo(out);
+            count++;
+        }
+
+        /**
+         * Writes the trailer, forces the file to disk and atomically replaces the previous snapshot.
+         *
+         * @return the number of recipes written
+         * @throws IOException if writing or moving fails
+         */
+        public long commit() throws IOException {
+            out.flush();
+            long checksum = crc.getValue();
+            DataOutputStream trailer = new DataOutputStream(Channels.newOutputStream(channel));
+            trailer.writeLong(count);
+            trailer.writeLong(checksum);
+            trailer.flush();
+            channel.force(true);
+            channel.close();
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (channel.isOpen()) channel.close();
+            if (!committed) Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Sequential reader over a mapped file that remaps the next window when a value would cross it.
+     */
+    private static final class Cursor {
+        private final FileChannel channel;
+        private final long end;
+        private MappedByteBuffer buffer;
+        private long base;
+        private byte[] scratch = new byte[256];
+
+        Cursor(FileChannel channel, long end) throws IOException {
+            this.channel = channel;
+            this.end = end;
+            map(0);
+        }
+
+        void require(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) return;
+            long pos = base + buffer.position();
+            if (pos + bytes > end) throw new IOException("Snapshot record extends past the end of the file");
+            map(pos);
+        }
+
+        long getLong() throws IOException {
+            require(Long.BYTES);
+            return buffer.getLong();
+        }
+
+        int getInt() throws IOException {
+            require(Integer.BYTES);
+            return buffer.getInt();
+        }
+
+        String getString() throws IOException {
+            int length = getInt();
+            if (length < 0) return null;
+            require(length);
+            if (scratch.length < length) scratch = new byte[Math.max(length, scratch.length * 2)];
+            buffer.get(scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        Recipe getRecipe() throws IOException {
+            Recipe recipe = new Recipe();
+            recipe.setId(getInt());
+            long version = getLong();
+            recipe.setVersion(version == NONE ? null : version);
+            long modifiedAt = getLong();
+            recipe.setModifiedAt(modifiedAt == NONE ? null : modifiedAt);
+            recipe.setCookingTime(getInt());
+            recipe.setTitle(getString());
+            recipe.setInstructions(getString());
+            recipe.setCategory(getString());
+            int ingredients = getInt();
+            if (ingredients >= 0) {
+                List<String> list = new ArrayList<>(ingredients);
+                for (int i = 0; i < ingredients; i++) list.add(getString());
+                recipe.setIngredients(list);
+            }
+            return recipe;
+        }
+
+        private void map(long pos) throws IOException {
+            base = pos;
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(WINDOW, end - pos));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.ghadynazha.recipeapi.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Utility class for splitting free text into search terms.
+ *
+ * Text is split on every character that is not a letter or digit, lowercased,
+ * and stripped of diacritics, so "Crème Brûlée" yields ["creme", "brulee"].
+ *
+ * Author: Ghady Nazha
+ */
+public class Tokenizer {
+
+    /**
+     * Private constructor to prevent instantiation.
+     * This is a utility class that only contains static methods.
+     */
+    private Tokenizer() {}
+
+    /**
+     * Splits the given text into normalized terms, in order of appearance.
+     *
+     * @param text the text to tokenize (may be null)
+     * @return the list of terms, empty if the text has none
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) return terms;
+
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i < folded.length(); i++) {
+            if (Character.isLetterOrDigit(folded.charAt(i))) {
+                if (start < 0) start = i;
+            } else if (start >= 0) {
+                terms.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) terms.add(folded.substring(start));
+        return terms;
+    }
+
+    /**
+     * Lowercases the text and removes diacritics.
+     *
+     * @param text the text to normalize
+     * @return the normalized text
+     */
+    public static String fold(String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            if (lower.charAt(i) > 0x7F) {
+                // Only pay for decomposition when the text is not plain ASCII
+                return Normalizer.normalize(lower, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+            }
+        }
+        return lower;
+    }
+}
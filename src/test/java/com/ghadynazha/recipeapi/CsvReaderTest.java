@@ -0,0 +1,44 @@
+package com.ghadynazha.recipeapi;
+
+import com.ghadynazha.recipeapi.util.CsvReader;
+import com.ghadynazha.recipeapi.util.CsvWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the incremental CSV reader and writer.
+ * Verifies quoting, embedded line breaks, CRLF handling and round trips.
+ */
+public class CsvReaderTest {
+
+    @Test
+    void testReadsQuotedFieldsAndLineEndings() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("a,\"b,c\",\"say \"\"hi\"\"\"\r\n\"multi\nline\",,x\n"));
+
+        assertThat(csv.next()).containsExactly("a", "b,c", "say \"hi\"");
+        assertThat(csv.next()).containsExactly("multi\nline", "", "x");
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    void testRejectsUnterminatedQuote() {
+        CsvReader csv = new CsvReader(new StringReader("\"open,field\n"));
+        assertThatThrownBy(csv::next).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void testWriterOutputReadsBack() throws IOException {
+        List<String> row = List.of("plain", "with, comma", "with \"quote\"", "two\nlines");
+        StringWriter out = new StringWriter();
+        new CsvWriter(out).write(row);
+
+        assertThat(new CsvReader(new StringReader(out.toString())).next()).containsExactlyElementsOf(row);
+    }
+}
@@ -0,0 +1,41 @@
+package com.ghadynazha.recipeapi;
+
+import com.ghadynazha.recipeapi.util.ETags;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the recipe entity tags.
+ * Verifies that gzip bodies get their own tag and that conditional headers accept both forms.
+ */
+public class ETagsTest {
+
+    @Test
+    void testGzipRepresentationHasItsOwnTag() {
+        String etag = ETags.of(7, 3);
+
+        assertThat(etag).isEqualTo("\"7.3\"");
+        assertThat(ETags.gzip(etag)).isEqualTo("\"7.3-gz\"");
+    }
+
+    @Test
+    void testIfNoneMatchAcceptsEitherRepresentation() {
+        String etag = ETags.of(7, 3);
+        String gzip = ETags.gzip(etag);
+
+        assertThat(ETags.matching("\"7.3\"", etag, gzip)).isEqualTo(etag);
+        assertThat(ETags.matching("\"1.1\", W/\"7.3-gz\"", etag, gzip)).isEqualTo(gzip);
+        assertThat(ETags.matching("*", etag, gzip)).isEqualTo(etag);
+        assertThat(ETags.matching("\"7.2-gz\"", etag, gzip)).isNull();
+    }
+
+    @Test
+    void testIfMatchAcceptsEitherRepresentation() {
+        assertThat(ETags.expectedVersion("\"7.3\"", 7)).isEqualTo(3L);
+        assertThat(ETags.expectedVersion("\"7.3-gz\"", 7)).isEqualTo(3L);
+        assertThatThrownBy(() -> ETags.expectedVersion("\"8.3-gz\"", 7))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,51 @@
+package com.ghadynazha.recipeapi;
+
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.service.IngredientMatchIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the ingredient bitmap index.
+ * Verifies coverage ranking, the missing-ingredient limit, and removals.
+ */
+public class IngredientMatchIndexTest {
+
+    private IngredientMatchIndex sampleIndex() {
+        IngredientMatchIndex index = new IngredientMatchIndex();
+        index.index(new Recipe(1, "Omelette", List.of("Egg", "Butter"), "Fry.", 5, "Breakfast"));
+        index.index(new Recipe(2, "Pancakes", List.of("Egg", "Flour", "Milk"), "Fry.", 10, "Breakfast"));
+        index.index(new Recipe(3, "Boiled Egg", List.of("egg"), "Boil.", 8, "Breakfast"));
+        index.index(new Recipe(4, "Toast", List.of("Bread"), "Toast.", 2, "Breakfast"));
+        return index;
+    }
+
+    @Test
+    void testOnlyCompleteRecipesByDefault() {
+        List<IngredientMatchIndex.Match> matches = sampleIndex().match(List.of("EGG", "butter"), 0, 10);
+
+        assertThat(matches).extracting(IngredientMatchIndex.Match::id).containsExactlyInAnyOrder(1, 3);
+        assertThat(matches).allMatch(m -> m.missing() == 0);
+    }
+
+    @Test
+    void testRanksByCoverageWhenMissingAllowed() {
+        List<IngredientMatchIndex.Match> matches = sampleIndex().match(List.of("egg", "flour"), 1, 10);
+
+        assertThat(matches).extracting(IngredientMatchIndex.Match::id).containsExactly(3, 2, 1);
+        assertThat(matches.get(1).matched()).isEqualTo(2);
+        assertThat(matches.get(1).missing()).isEqualTo(1);
+    }
+
+    @Test
+    void testRemovedRecipesDoNotMatch() {
+        IngredientMatchIndex index = sampleIndex();
+        index.remove(3);
+
+        assertThat(index.match(List.of("egg"), 0, 10)).isEmpty();
+        assertThat(index.match(List.of("egg"), 1, 10)).extracting(IngredientMatchIndex.Match::id).containsExactly(1);
+    }
+}
@@ -0,0 +1,62 @@
+package com.ghadynazha.recipeapi;
+
+import com.ghadynazha.recipeapi.security.RateLimitProperties;
+import com.ghadynazha.recipeapi.security.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the per-client token buckets.
+ * Verifies burst capacity, per-client and per-route isolation, unlimited paths, and forwarded client addresses.
+ */
+public class RateLimiterTest {
+
+    private RateLimiter limiter() {
+        return new RateLimiter(new RateLimitProperties(true, 1000, List.of(
+                new RateLimitProperties.Route("/api/auth/login", 3, Duration.ofMinutes(1)),
+                new RateLimitProperties.Route("/api/**", 100, Duration.ofMinutes(1))),
+                List.of("10.0.0.0/8")),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testRejectsOnceBurstIsSpent() {
+        RateLimiter limiter = limiter();
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.acquire("/api/auth/login", "ip:10.0.0.1")).isZero();
+        }
+
+        long wait = limiter.acquire("/api/auth/login", "ip:10.0.0.1");
+        assertThat(wait).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(20).toNanos());
+    }
+
+    @Test
+    void testClientsAndRoutesHaveSeparateBuckets() {
+        RateLimiter limiter = limiter();
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("/api/auth/login", "ip:10.0.0.1");
+        }
+
+        assertThat(limiter.acquire("/api/auth/login", "ip:10.0.0.2")).isZero();
+        assertThat(limiter.acquire("/api/recipes/search", "ip:10.0.0.1")).isZero();
+        assertThat(limiter.acquire("/swagger-ui/index.html", "ip:10.0.0.1")).isZero();
+    }
+
+    @Test
+    void testForwardedForIsOnlyBelievedFromTrustedProxies() {
+        RateLimiter limiter = limiter();
+
+        // Direct client: the header is ignored, so rotating it gets no fresh bucket
+        assertThat(limiter.clientAddress("203.0.113.9", List.of("198.51.100.1"))).isEqualTo("203.0.113.9");
+        // Through a trusted proxy: the address it appended, not what the client claimed before it
+        assertThat(limiter.clientAddress("10.0.0.2", List.of("198.51.100.1, 203.0.113.9"))).isEqualTo("203.0.113.9");
+        // Through two trusted proxies
+        assertThat(limiter.clientAddress("10.0.0.2", List.of("203.0.113.9", "10.0.0.3"))).isEqualTo("203.0.113.9");
+        assertThat(limiter.clientAddress("10.0.0.2", null)).isEqualTo("10.0.0.2");
+    }
+}
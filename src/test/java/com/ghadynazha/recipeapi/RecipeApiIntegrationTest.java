@@ -1,6 +1,11 @@
 package com.ghadynazha.recipeapi;
 
+import com.ghadynazha.recipeapi.model.BulkItemResult;
+import com.ghadynazha.recipeapi.model.BulkResult;
+import com.ghadynazha.recipeapi.model.ImportReport;
 import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.model.RecipeCursorPage;
+import com.ghadynazha.recipeapi.repository.RecipeRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -11,7 +16,14 @@ import org.springframework.http.*;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -30,6 +42,9 @@ public class RecipeApiIntegrationTest {
     @Autowired
     TestRestTemplate rest;
 
+    @Autowired
+    RecipeRepository recipeRepo;
+
     private String url(String p) {
         return "http://localhost:" + port + p;
     }
@@ -83,6 +98,22 @@ public class RecipeApiIntegrationTest {
         assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
 
+    @Test
+    void testDeleteRecordsTombstoneOnlyForExistingRecipes() {
+        long since = System.currentTimeMillis() - 1000;
+        Recipe created = rest.postForEntity(url("/api/recipes"),
+                new Recipe(null, "Gone", List.of("X"), "None", 5, "None"), Recipe.class).getBody();
+
+        rest.delete(url("/api/recipes/" + created.getId()));
+        ResponseEntity<Void> unknown = rest.exchange(url("/api/recipes/" + Integer.MAX_VALUE), HttpMethod.DELETE,
+                null, Void.class);
+
+        assertThat(unknown.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(recipeRepo.findDeletedSince(since))
+                .contains(created.getId())
+                .doesNotContain(Integer.MAX_VALUE);
+    }
+
     @Test
     void testListRecipes() {
         rest.postForEntity(url("/api/recipes"),
@@ -95,5 +126,214 @@ public class RecipeApiIntegrationTest {
         assertThat(recipes.length).isGreaterThanOrEqualTo(2);
     }
 
+    @Test
+    void testStreamRecipesAsNdjson() {
+        rest.postForEntity(url("/api/recipes"),
+                new Recipe(null, "A", List.of("X"), "None", 5, "Type1"), Recipe.class);
+        rest.postForEntity(url("/api/recipes"),
+                new Recipe(null, "B", List.of("Y"), "None", 5, "Type2"), Recipe.class);
+
+        ResponseEntity<String> resp = rest.getForEntity(url("/api/recipes/stream"), String.class);
+
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(resp.getHeaders().getContentType().toString()).startsWith("application/x-ndjson");
+        assertThat(resp.getBody().lines().filter(l -> !l.isBlank()).count()).isGreaterThanOrEqualTo(2);
+        assertThat(resp.getBody().lines().allMatch(l -> l.isBlank() || l.startsWith("{"))).isTrue();
+    }
+
+    @Test
+    void testCursorPaginationVisitsEveryRecipeOnce() {
+        for (String title : List.of("C", "A", "B", "A", "D")) {
+            rest.postForEntity(url("/api/recipes"),
+                    new Recipe(null, title, List.of("X"), "None", 5, "Paged"), Recipe.class);
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        do {
+            String path = "/api/recipes/cursor?size=2&sortBy=title" + (cursor == null ? "" : "&cursor=" + cursor);
+            RecipeCursorPage page = rest.getForObject(url(path), RecipeCursorPage.class);
+            assertThat(page.getContent().size()).isLessThanOrEqualTo(2);
+            page.getContent().forEach(r -> {
+                assertThat(seen.add(r.getId())).isTrue();
+                titles.add(r.getTitle());
+            });
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(titles).isSorted();
+        assertThat(seen.size()).isGreaterThanOrEqualTo(5);
+    }
+
+    @Test
+    void testBulkCreateReportsEachItem() {
+        List<Recipe> batch = List.of(
+                new Recipe(null, "Bulk A", List.of("X"), "Mix", 5, "Bulk"),
+                new Recipe(null, "", List.of("Y"), "Mix", 5, "Bulk"),
+                new Recipe(null, "Bulk C", List.of("Z"), "Mix", 5, "Bulk"));
+
+        BulkResult result = rest.postForObject(url("/api/recipes/bulk"), batch, BulkResult.class);
+
+        assertThat(result.getSucceeded()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getItems().get(1).getStatus()).isEqualTo("invalid");
+
+        Integer id = result.getItems().get(2).getId();
+        ResponseEntity<Recipe> resp = rest.getForEntity(url("/api/recipes/" + id), Recipe.class);
+        assertThat(resp.getBody().getTitle()).isEqualTo("Bulk C");
+    }
+
+    @Test
+    void testBulkUpdateReportsMissingRecipesAsNotFound() {
+        Recipe created = rest.postForEntity(url("/api/recipes"),
+                new Recipe(null, "Bulk Old", List.of("X"), "Mix", 5, "Bulk"), Recipe.class).getBody();
+        created.setTitle("Bulk New");
+        List<Recipe> batch = List.of(created, new Recipe(Integer.MAX_VALUE, "Ghost", List.of("Y"), "Mix", 5, "Bulk"));
+
+        ResponseEntity<BulkResult> resp = rest.exchange(url("/api/recipes/bulk"), HttpMethod.PUT,
+                new HttpEntity<>(batch), BulkResult.class);
+
+        assertThat(resp.getBody().getItems()).extracting(BulkItemResult::getStatus)
+                .containsExactly("updated", "not_found");
+        Recipe stored = rest.getForObject(url("/api/recipes/" + created.getId()), Recipe.class);
+        assertThat(stored.getTitle()).isEqualTo("Bulk New");
+        assertThat(stored.getVersion()).isEqualTo(2L);
+    }
+
+    @Test
+    void testCsvImportValidatesRowsAndRoundTripsThroughExport() {
+        String csv = "title,ingredients,instructions,cookingTime,category\r\n"
+                + "Imported Soup,\"Leek|Potato\",\"Simmer, then blend.\",40,Soup\r\n"
+                + ",Salt,Stir.,5,Soup\r\n"
+                + "Imported Bread,Flour,Bake.,soon,Bakery\r\n";
+        HttpHeaders h = new HttpHeaders();
+        h.setContentType(MediaType.parseMediaType("text/csv"));
+
+        ImportReport report = rest.postForObject(url("/api/recipes/import"), new HttpEntity<>(csv, h), ImportReport.class);
+
+        assertThat(report.getReceived()).isEqualTo(3);
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getInvalid()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(BulkItemResult::getIndex).containsExactlyInAnyOrder(1, 2);
+
+        String exported = rest.getForObject(url("/api/recipes/export?format=csv"), String.class);
+        assertThat(exported).startsWith("id,title,ingredients,instructions,cookingTime,category");
+        assertThat(exported).contains("Imported Soup,Leek|Potato,\"Simmer, then blend.\",40,Soup");
+    }
+
+    @Test
+    void testPagedRejectsUnindexedSortField() {
+        ResponseEntity<String> resp = rest.getForEntity(url("/api/recipes/paged?sortBy=instructions"), String.class);
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void testPatchChangesOnlyGivenFields() {
+        Recipe created = rest.postForEntity(url("/api/recipes"),
+                new Recipe(null, "Patch Me", List.of("A"), "Keep", 5, "P"), Recipe.class).getBody();
+
+        ResponseEntity<Recipe> resp = rest.exchange(url("/api/recipes/" + created.getId()), HttpMethod.PATCH,
+                new HttpEntity<>(Map.of("cookingTime", 45)), Recipe.class);
+
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(resp.getBody().getCookingTime()).isEqualTo(45);
+        assertThat(resp.getBody().getInstructions()).isEqualTo("Keep");
+        assertThat(resp.getBody().getVersion()).isEqualTo(2L);
+
+        ResponseEntity<String> invalid = rest.exchange(url("/api/recipes/" + created.getId()), HttpMethod.PATCH,
+                new HttpEntity<>(Map.of("title", " ")), String.class);
+        assertThat(invalid.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void testSummaryFieldsOmitInstructions() {
+        rest.postForEntity(url("/api/recipes"),
+                new Recipe(null, "Summary", List.of("A"), "Long instructions", 5, "S"), Recipe.class);
+
+        ResponseEntity<List> resp = rest.getForEntity(url("/api/recipes?fields=summary"), List.class);
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> first = (Map<String, Object>) resp.getBody().get(0);
+        assertThat(first.keySet()).containsExactly("id", "title", "cookingTime", "category");
+
+        ResponseEntity<String> bad = rest.getForEntity(url("/api/recipes?fields=secret"), String.class);
+        assertThat(bad.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void testConditionalGetAndIfMatchUpdate() {
+        Recipe created = rest.postForEntity(url("/api/recipes"),
+                new Recipe(null, "Versioned", List.of("A"), "None", 5, "V"), Recipe.class).getBody();
+        String path = url("/api/recipes/" + created.getId());
+
+        String etag = rest.getForEntity(path, Recipe.class).getHeaders().getETag();
+        assertThat(etag).isNotNull();
+
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.setIfNoneMatch(etag);
+        ResponseEntity<String> notModified = rest.exchange(path, HttpMethod.GET, new HttpEntity<>(conditional), String.class);
+        assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        HttpHeaders ifMatch = new HttpHeaders();
+        ifMatch.setContentType(MediaType.APPLICATION_JSON);
+        ifMatch.setIfMatch(etag);
+        created.setTitle("Versioned 2");
+        ResponseEntity<Recipe> first = rest.exchange(path, HttpMethod.PUT, new HttpEntity<>(created, ifMatch), Recipe.class);
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getBody().getVersion()).isEqualTo(2L);
+
+        ResponseEntity<String> stale = rest.exchange(path, HttpMethod.PUT, new HttpEntity<>(created, ifMatch), String.class);
+        assertThat(stale.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @Test
+    void testConcurrentDuplicateSignupsCreateOneUser() throws Exception {
+        String username = "dup" + System.nanoTime() + "@example.com";
+        Map<String, String> payload = Map.of("username", username, "password", "Passw0rdX");
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<HttpStatusCode>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(pool.submit(() ->
+                    rest.postForEntity(url("/api/auth/signup"), payload, String.class).getStatusCode()));
+        }
+        int created = 0;
+        for (Future<HttpStatusCode> f : futures) {
+            if (f.get().is2xxSuccessful()) created++;
+        }
+        pool.shutdown();
+
+        assertThat(created).isEqualTo(1);
+    }
+
+    @Test
+    void testConcurrentCreatesGetUniqueIds() throws Exception {
+        int threads = 16;
+        int perThread = 50;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<List<Integer>>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                List<Integer> ids = new ArrayList<>();
+                for (int i = 0; i < perThread; i++) {
+                    Recipe created = rest.postForEntity(url("/api/recipes"),
+                            new Recipe(null, "Load", List.of("X"), "None", 5, "Bench"), Recipe.class).getBody();
+                    ids.add(created.getId());
+                }
+                return ids;
+            }));
+        }
+
+        Set<Integer> ids = new HashSet<>();
+        for (Future<List<Integer>> f : futures) {
+            ids.addAll(f.get());
+        }
+        pool.shutdown();
+
+        assertThat(ids).hasSize(threads * perThread);
+    }
+
 }
 
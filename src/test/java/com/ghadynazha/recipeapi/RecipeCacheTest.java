@@ -0,0 +1,93 @@
+package com.ghadynazha.recipeapi;
+
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.repository.RecipeRepository;
+import com.ghadynazha.recipeapi.service.RecipeCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the read-through recipe cache.
+ * Verifies caching, invalidation on save and delete, statistics, and the byte budget.
+ */
+public class RecipeCacheTest {
+
+    private static Recipe recipe(int id, String instructions) {
+        return new Recipe(id, "Dish " + id, List.of("Salt"), instructions, 10, "Any");
+    }
+
+    @Test
+    void testServesRepeatedReadsFromCache() {
+        RecipeRepository repo = mock(RecipeRepository.class);
+        when(repo.findById(1)).thenReturn(Optional.of(recipe(1, "Cook.")));
+        RecipeCache cache = new RecipeCache(repo, 1_000_000, Duration.ofMinutes(10));
+
+        assertThat(cache.get(1)).map(Recipe::getTitle).contains("Dish 1");
+        assertThat(cache.get(1)).map(Recipe::getTitle).contains("Dish 1");
+        assertThat(cache.getIfPresent(1)).isPresent();
+        verify(repo, times(1)).findById(1);
+
+        Map<String, Object> stats = cache.stats();
+        assertThat(stats.get("entries")).isEqualTo(1L);
+        assertThat(stats.get("loads")).isEqualTo(1L);
+        assertThat((double) stats.get("hitRatio")).isGreaterThan(0.5);
+    }
+
+    @Test
+    void testSaveAndDeleteInvalidateEntries() {
+        RecipeRepository repo = mock(RecipeRepository.class);
+        when(repo.findById(1)).thenReturn(Optional.of(recipe(1, "Cook.")));
+        RecipeCache cache = new RecipeCache(repo, 1_000_000, Duration.ofMinutes(10));
+
+        cache.get(1);
+        cache.index(recipe(1, "Cook longer."));
+        assertThat(cache.getIfPresent(1)).isEmpty();
+        cache.get(1);
+
+        cache.remove(1);
+        assertThat(cache.getIfPresent(1)).isEmpty();
+        cache.get(1);
+
+        verify(repo, times(3)).findById(1);
+    }
+
+    @Test
+    void testMissingRecipesAreNotCached() {
+        RecipeRepository repo = mock(RecipeRepository.class);
+        when(repo.findById(7)).thenReturn(Optional.empty());
+        RecipeCache cache = new RecipeCache(repo, 1_000_000, Duration.ofMinutes(10));
+
+        assertThat(cache.get(7)).isEmpty();
+        assertThat(cache.get(7)).isEmpty();
+        verify(repo, times(2)).findById(7);
+    }
+
+    @Test
+    void testEvictsToStayWithinByteBudget() throws InterruptedException {
+        RecipeRepository repo = mock(RecipeRepository.class);
+        String instructions = "x".repeat(1000);
+        for (int id = 1; id <= 20; id++) {
+            when(repo.findById(id)).thenReturn(Optional.of(recipe(id, instructions)));
+        }
+        RecipeCache cache = new RecipeCache(repo, 5_000, Duration.ofMinutes(10));
+
+        for (int id = 1; id <= 20; id++) cache.get(id);
+
+        // Eviction runs asynchronously on the cache's executor
+        for (int i = 0; i < 50 && (long) cache.stats().get("entries") > 4; i++) Thread.sleep(20);
+        Map<String, Object> stats = cache.stats();
+        assertThat((long) stats.get("entries")).isLessThanOrEqualTo(4);
+        assertThat((long) stats.get("evictions")).isPositive();
+        assertThat((long) stats.get("evictedBytes")).isPositive();
+    }
+}
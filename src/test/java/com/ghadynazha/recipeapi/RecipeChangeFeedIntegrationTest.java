@@ -0,0 +1,87 @@
+package com.ghadynazha.recipeapi;
+
+import com.ghadynazha.recipeapi.model.Recipe;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs two instances of the API against the same MongoDB and verifies that a write made
+ * through one refreshes, and a delete evicts, the recipe the other has already cached.
+ * Uses the outbox, so it also works against a standalone server without change streams.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "app.change-feed.mode=outbox")
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+public class RecipeChangeFeedIntegrationTest {
+    @LocalServerPort
+    int port;
+
+    static ConfigurableApplicationContext other;
+    static int otherPort;
+
+    TestRestTemplate rest = new TestRestTemplate();
+
+    @BeforeAll
+    static void startOtherInstance() {
+        other = new SpringApplicationBuilder(RecipeApiApplication.class, TestSecurityConfig.class)
+                .profiles("test")
+                .properties("server.port=0", "app.change-feed.mode=outbox")
+                .run();
+        otherPort = Integer.parseInt(other.getEnvironment().getProperty("local.server.port"));
+    }
+
+    @AfterAll
+    static void stopOtherInstance() {
+        other.close();
+    }
+
+    private String url(int port, String p) {
+        return "http://localhost:" + port + p;
+    }
+
+    private ResponseEntity<Recipe> awaitOther(String path, Predicate<ResponseEntity<Recipe>> condition)
+            throws InterruptedException {
+        ResponseEntity<Recipe> resp = rest.getForEntity(url(otherPort, path), Recipe.class);
+        for (int i = 0; i < 100 && !condition.test(resp); i++) {
+            Thread.sleep(100);
+            resp = rest.getForEntity(url(otherPort, path), Recipe.class);
+        }
+        return resp;
+    }
+
+    @Test
+    void testWritesOnOneInstanceRefreshTheOthersCache() throws Exception {
+        Recipe created = rest.postForEntity(url(port, "/api/recipes"),
+                new Recipe(null, "Before", List.of("Salt"), "Cook.", 10, "Any"), Recipe.class).getBody();
+        assertThat(created).isNotNull();
+        String path = "/api/recipes/" + created.getId();
+
+        // Cache the recipe on the other instance
+        assertThat(awaitOther(path, r -> r.getStatusCode() == HttpStatus.OK).getBody().getTitle()).isEqualTo("Before");
+
+        created.setTitle("After");
+        rest.put(url(port, path), created);
+        assertThat(awaitOther(path, r -> "After".equals(r.getBody().getTitle())).getBody().getTitle())
+                .isEqualTo("After");
+
+        rest.delete(url(port, path));
+        assertThat(awaitOther(path, r -> r.getStatusCode() == HttpStatus.NOT_FOUND).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+}
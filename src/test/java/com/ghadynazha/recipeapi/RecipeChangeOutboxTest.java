@@ -0,0 +1,91 @@
+package com.ghadynazha.recipeapi;
+
+import com.ghadynazha.recipeapi.model.RecipeChange;
+import com.ghadynazha.recipeapi.service.RecipeChangeOutbox;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the outbox publisher.
+ * Verifies that failed inserts are retried and that changes dropped on overflow are replaced by a gap marker.
+ */
+public class RecipeChangeOutboxTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final List<RecipeChange> inserted = new CopyOnWriteArrayList<>();
+    private RecipeChangeOutbox outbox;
+
+    private RecipeChangeOutbox start() {
+        when(mongoTemplate.collectionExists(RecipeChange.class)).thenReturn(true);
+        outbox = new RecipeChangeOutbox(mongoTemplate, "node-a", 8080, 1 << 20);
+        outbox.enable();
+        return outbox;
+    }
+
+    @AfterEach
+    void stop() {
+        if (outbox != null) outbox.shutdown();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void record(Object changes) {
+        inserted.addAll((Collection<RecipeChange>) changes);
+    }
+
+    @Test
+    void testFailedInsertIsRetried() {
+        int[] calls = new int[1];
+        doAnswer(inv -> {
+            if (calls[0]++ == 0) throw new DataAccessResourceFailureException("down");
+            record(inv.getArgument(0));
+            return null;
+        }).when(mongoTemplate).insert(anyCollection(), eq(RecipeChange.class));
+
+        start().publish(List.of(1, 2));
+
+        verify(mongoTemplate, timeout(5000).times(2)).insert(anyCollection(), eq(RecipeChange.class));
+        assertThat(inserted).extracting(RecipeChange::getRecipeId).containsExactlyInAnyOrder(1, 2);
+    }
+
+    @Test
+    void testOverflowPublishesGapMarker() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            release.await();
+            record(inv.getArgument(0));
+            return null;
+        }).when(mongoTemplate).insert(anyCollection(), eq(RecipeChange.class));
+
+        RecipeChangeOutbox outbox = start();
+        // The publisher blocks on the first insert, so the queue fills up and the rest is dropped
+        List<Integer> ids = new ArrayList<>(IntStream.range(0, 110_000).boxed().toList());
+        outbox.publish(ids);
+        release.countDown();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (inserted.stream().noneMatch(c -> c.getRecipeId() == null) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(inserted).filteredOn(c -> c.getRecipeId() == null)
+                .singleElement()
+                .satisfies(marker -> assertThat(marker.getGapSince()).isNotNull());
+    }
+}
@@ -0,0 +1,55 @@
+package com.ghadynazha.recipeapi;
+
+import com.ghadynazha.recipeapi.model.FacetCount;
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.model.RecipeFacets;
+import com.ghadynazha.recipeapi.service.RecipeFacetIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the in-memory facet counters.
+ * Verifies catalog-wide counts, incremental updates and removals, and narrowed counts.
+ */
+public class RecipeFacetIndexTest {
+
+    private RecipeFacetIndex sampleIndex() {
+        RecipeFacetIndex index = new RecipeFacetIndex();
+        index.index(new Recipe(1, "Pizza", List.of("Cheese"), "Bake.", 20, "Italian"));
+        index.index(new Recipe(2, "Pasta", List.of("Pasta"), "Boil.", 10, "Italian"));
+        index.index(new Recipe(3, "Stew", List.of("Beef"), "Simmer.", 150, "French"));
+        return index;
+    }
+
+    @Test
+    void testCountsCategoriesAndTimeRanges() {
+        RecipeFacets facets = sampleIndex().facets(10);
+
+        assertThat(facets.getTotal()).isEqualTo(3);
+        assertThat(facets.getCategories()).containsExactly(new FacetCount("Italian", 2), new FacetCount("French", 1));
+        assertThat(facets.getCookingTime()).extracting(FacetCount::getCount).containsExactly(1L, 1L, 0L, 0L, 1L);
+    }
+
+    @Test
+    void testUpdatesAndRemovalsMoveCounts() {
+        RecipeFacetIndex index = sampleIndex();
+        index.index(new Recipe(2, "Pasta", List.of("Pasta"), "Boil.", 10, "French"));
+        index.remove(3);
+
+        RecipeFacets facets = index.facets(10);
+        assertThat(facets.getTotal()).isEqualTo(2);
+        assertThat(facets.getCategories()).containsExactly(new FacetCount("French", 1), new FacetCount("Italian", 1));
+        assertThat(facets.getCookingTime().get(4).getCount()).isZero();
+    }
+
+    @Test
+    void testNarrowedCountsOnlyIncludeGivenIds() {
+        RecipeFacets facets = sampleIndex().facets(new int[]{1, 3, 99}, 10);
+
+        assertThat(facets.getTotal()).isEqualTo(2);
+        assertThat(facets.getCategories()).extracting(FacetCount::getValue).containsExactly("French", "Italian");
+    }
+}
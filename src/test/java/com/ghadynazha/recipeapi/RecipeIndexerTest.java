@@ -0,0 +1,92 @@
+package com.ghadynazha.recipeapi;
+
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.repository.RecipeRepository;
+import com.ghadynazha.recipeapi.service.RecipeChangeOutbox;
+import com.ghadynazha.recipeapi.service.RecipeIndex;
+import com.ghadynazha.recipeapi.service.RecipeIndexer;
+import com.ghadynazha.recipeapi.service.RecipeSnapshotService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for the fan-out of recipe changes to the in-memory indexes.
+ * Verifies that stale versions never overwrite newer ones and that deleted IDs stay deleted for the retention.
+ */
+public class RecipeIndexerTest {
+
+    /**
+     * Index that remembers the last recipe it was given per ID.
+     */
+    private static class LastSeen implements RecipeIndex {
+        final Map<Integer, Recipe> recipes = new HashMap<>();
+
+        @Override
+        public void index(Recipe recipe) {
+            recipes.put(recipe.getId(), recipe);
+        }
+
+        @Override
+        public void remove(Integer id) {
+            recipes.remove(id);
+        }
+    }
+
+    private static Recipe recipe(int id, String title, long version) {
+        Recipe recipe = new Recipe(id, title, List.of("Salt"), "Cook.", 10, "Any");
+        recipe.setVersion(version);
+        return recipe;
+    }
+
+    private static RecipeIndexer indexer(RecipeIndex index, Duration deletedRetention) {
+        return new RecipeIndexer(mock(RecipeRepository.class), List.of(index),
+                mock(RecipeSnapshotService.class), mock(RecipeChangeOutbox.class), deletedRetention);
+    }
+
+    @Test
+    void testStaleVersionDoesNotOverwriteNewerOne() {
+        LastSeen index = new LastSeen();
+        RecipeIndexer indexer = indexer(index, Duration.ofMinutes(5));
+
+        indexer.saved(recipe(1, "Local v3", 3));
+
+        assertThat(indexer.apply(recipe(1, "Feed v2", 2))).isFalse();
+        assertThat(indexer.apply(recipe(1, "Feed v3", 3))).isFalse();
+        assertThat(index.recipes.get(1).getTitle()).isEqualTo("Local v3");
+
+        assertThat(indexer.apply(recipe(1, "Feed v4", 4))).isTrue();
+        assertThat(index.recipes.get(1).getTitle()).isEqualTo("Feed v4");
+    }
+
+    @Test
+    void testDeletedRecipeIsNotBroughtBack() {
+        LastSeen index = new LastSeen();
+        RecipeIndexer indexer = indexer(index, Duration.ofMinutes(5));
+
+        indexer.apply(recipe(1, "Soup", 1));
+        indexer.deleted(1);
+
+        assertThat(indexer.apply(recipe(1, "Soup", 2))).isFalse();
+        assertThat(index.recipes).doesNotContainKey(1);
+    }
+
+    @Test
+    void testDeletedIdsAreForgottenAfterRetention() throws InterruptedException {
+        LastSeen index = new LastSeen();
+        RecipeIndexer indexer = indexer(index, Duration.ofMillis(1));
+
+        indexer.deleted(1);
+        Thread.sleep(10);
+        indexer.deleted(2); // sweeps deletions older than the retention
+
+        assertThat(indexer.apply(recipe(1, "Soup", 2))).isTrue();
+        assertThat(indexer.apply(recipe(2, "Stew", 2))).isFalse();
+    }
+}
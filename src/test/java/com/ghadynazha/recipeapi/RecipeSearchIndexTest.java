@@ -0,0 +1,87 @@
+package com.ghadynazha.recipeapi;
+
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.service.RecipeSearchIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the in-memory full-text index.
+ * Verifies tokenization, ranking, fuzzy matching, and incremental updates and removals.
+ */
+public class RecipeSearchIndexTest {
+
+    @Test
+    void testRanksTitleMatchesFirst() {
+        RecipeSearchIndex index = new RecipeSearchIndex();
+        index.index(new Recipe(1, "Tomato Soup", List.of("Tomato", "Salt"), "Simmer.", 30, "Soup"));
+        index.index(new Recipe(2, "Pasta", List.of("Pasta", "Tomato"), "Boil pasta.", 15, "Italian"));
+        index.index(new Recipe(3, "Pancakes", List.of("Flour", "Milk"), "Fry.", 10, "Breakfast"));
+
+        assertThat(index.search("TOMATO", 10)).containsExactly(1, 2);
+        assertThat(index.search("crème", 10)).isEmpty();
+    }
+
+    @Test
+    void testFoldsDiacritics() {
+        RecipeSearchIndex index = new RecipeSearchIndex();
+        index.index(new Recipe(1, "Crème Brûlée", List.of("Cream"), "Bake.", 60, "Dessert"));
+
+        assertThat(index.search("creme brulee", 10)).containsExactly(1);
+    }
+
+    @Test
+    void testUpdateAndRemove() {
+        RecipeSearchIndex index = new RecipeSearchIndex();
+        index.index(new Recipe(1, "Pizza", List.of("Cheese"), "Bake.", 20, "Italian"));
+        index.index(new Recipe(1, "Burger", List.of("Beef"), "Grill.", 20, "American"));
+
+        assertThat(index.search("pizza", 10)).isEmpty();
+        assertThat(index.search("burger", 10)).containsExactly(1);
+
+        index.remove(1);
+        assertThat(index.search("burger", 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void testCompactionKeepsResults() {
+        RecipeSearchIndex index = new RecipeSearchIndex();
+        for (int round = 0; round < 5; round++) {
+            for (int id = 1; id <= 1000; id++) {
+                index.index(new Recipe(id, "Dish " + id, List.of("Salt"), "Cook.", 10, "Any"));
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(1000);
+        assertThat(index.search("salt", 2000)).hasSize(1000);
+        assertThat(index.search("500", 10)).containsExactly(500);
+    }
+
+    @Test
+    void testFuzzySearchMatchesMisspelledTerms() {
+        RecipeSearchIndex index = new RecipeSearchIndex();
+        index.index(new Recipe(1, "Spaghetti Carbonara", List.of("Spaghetti", "Egg"), "Boil.", 20, "Italian"));
+        index.index(new Recipe(2, "Lasagna", List.of("Pasta", "Beef"), "Bake.", 60, "Italian"));
+        index.index(new Recipe(3, "Pie", List.of("Apple"), "Bake.", 50, "Dessert"));
+
+        assertThat(index.search("spagetti", 10)).isEmpty();
+        assertThat(index.fuzzySearch("spagetti", 10)).containsExactly(1);
+        assertThat(index.fuzzySearch("lasagne", 10)).containsExactly(2);
+        assertThat(index.fuzzySearch("carbonarra lasagne", 10)).containsExactlyInAnyOrder(1, 2);
+        assertThat(index.fuzzySearch("aple", 10)).containsExactly(3);
+        assertThat(index.fuzzySearch("xyzzy", 10)).isEmpty();
+    }
+
+    @Test
+    void testFuzzySearchRanksExactMatchesFirst() {
+        RecipeSearchIndex index = new RecipeSearchIndex();
+        index.index(new Recipe(1, "Pasta Bake", List.of("Pasta"), "Bake.", 30, "Italian"));
+        index.index(new Recipe(2, "Pasty", List.of("Flour"), "Bake.", 40, "British"));
+
+        assertThat(index.fuzzySearch("pasta", 10)).containsExactly(1, 2);
+    }
+}
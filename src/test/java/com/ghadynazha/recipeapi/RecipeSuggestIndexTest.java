@@ -0,0 +1,62 @@
+package com.ghadynazha.recipeapi;
+
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.model.Suggestion;
+import com.ghadynazha.recipeapi.service.RecipeSuggestIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the in-memory autocomplete index.
+ * Verifies ranking by popularity, word-start and accent-insensitive matching, and incremental updates.
+ */
+public class RecipeSuggestIndexTest {
+
+    private RecipeSuggestIndex sampleIndex() {
+        RecipeSuggestIndex index = new RecipeSuggestIndex();
+        index.index(new Recipe(1, "Tomato Soup", List.of("Tomato", "Salt"), "Simmer.", 30, "Soup"));
+        index.index(new Recipe(2, "Tomato Salad", List.of("Tomato", "Olive oil"), "Toss.", 5, "Salad"));
+        index.index(new Recipe(3, "Crème Brûlée", List.of("Cream", "Sugar"), "Bake.", 60, "Dessert"));
+        index.index(new Recipe(4, "Toast", List.of("Bread", "tomato"), "Toast.", 5, "Breakfast"));
+        return index;
+    }
+
+    @Test
+    void testRanksCompletionsByPopularity() {
+        List<Suggestion> suggestions = sampleIndex().suggest("to", 10);
+
+        assertThat(suggestions.get(0)).isEqualTo(new Suggestion("Tomato", "ingredient", 3));
+        assertThat(suggestions).extracting(Suggestion::getText)
+                .containsExactly("Tomato", "Toast", "Tomato Salad", "Tomato Soup");
+        assertThat(sampleIndex().suggest("to", 2)).hasSize(2);
+    }
+
+    @Test
+    void testMatchesWordStartsIgnoringCaseAndAccents() {
+        RecipeSuggestIndex index = sampleIndex();
+
+        assertThat(index.suggest("BRUL", 10)).extracting(Suggestion::getText).containsExactly("Crème Brûlée");
+        assertThat(index.suggest("oil", 10)).extracting(Suggestion::getText).containsExactly("Olive oil");
+        assertThat(index.suggest("tomato sa", 10)).extracting(Suggestion::getText).containsExactly("Tomato Salad");
+        assertThat(index.suggest("xyz", 10)).isEmpty();
+        assertThat(index.suggest("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void testUpdatesAndRemovalsAdjustCounts() {
+        RecipeSuggestIndex index = sampleIndex();
+        index.index(new Recipe(4, "Toast", List.of("Bread"), "Toast.", 5, "Breakfast"));
+        index.remove(2);
+
+        assertThat(index.suggest("tom", 10)).containsExactly(
+                new Suggestion("Tomato", "ingredient", 1),
+                new Suggestion("Tomato Soup", "title", 1));
+        assertThat(index.suggest("sal", 10)).extracting(Suggestion::getText).containsExactly("Salt");
+
+        index.remove(1);
+        assertThat(index.suggest("tom", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,132 @@
+package com.ghadynazha.recipeapi;
+
+import com.ghadynazha.recipeapi.controller.RecipeController;
+import com.ghadynazha.recipeapi.repository.RecipeRepository;
+import com.ghadynazha.recipeapi.security.JwtFilter;
+import com.ghadynazha.recipeapi.security.JwtUtil;
+import com.ghadynazha.recipeapi.security.RateLimiter;
+import com.ghadynazha.recipeapi.security.SecurityConfig;
+import com.ghadynazha.recipeapi.service.CounterService;
+import com.ghadynazha.recipeapi.service.IngredientMatchIndex;
+import com.ghadynazha.recipeapi.service.RecipeBodyCache;
+import com.ghadynazha.recipeapi.service.RecipeBulkService;
+import com.ghadynazha.recipeapi.service.RecipeCache;
+import com.ghadynazha.recipeapi.service.RecipeFacetIndex;
+import com.ghadynazha.recipeapi.service.RecipeImportService;
+import com.ghadynazha.recipeapi.service.RecipeIndexer;
+import com.ghadynazha.recipeapi.service.RecipeSearchIndex;
+import com.ghadynazha.recipeapi.service.RecipeSuggestIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests the production security chain ({@link SecurityConfig} with {@link JwtFilter}) on the recipe endpoints,
+ * with the services behind the controller mocked, so no database is needed.
+ * Verifies that bulk writes and imports need a valid JWT, that authenticated requests are rate limited per principal
+ * and that the metrics scrape is only public on the management port.
+ */
+@WebMvcTest(controllers = RecipeController.class)
+@Import({SecurityConfig.class, JwtUtil.class, SecurityConfigTest.Metrics.class})
+public class SecurityConfigTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    JwtUtil jwtUtil;
+
+    @MockitoBean RateLimiter rateLimiter;
+    @MockitoBean RecipeRepository recipeRepo;
+    @MockitoBean CounterService counterService;
+    @MockitoBean RecipeIndexer recipeIndexer;
+    @MockitoBean RecipeSearchIndex searchIndex;
+    @MockitoBean IngredientMatchIndex ingredientIndex;
+    @MockitoBean RecipeCache recipeCache;
+    @MockitoBean RecipeBulkService bulkService;
+    @MockitoBean RecipeBodyCache bodyCache;
+    @MockitoBean RecipeFacetIndex facetIndex;
+    @MockitoBean RecipeImportService importService;
+    @MockitoBean RecipeSuggestIndex suggestIndex;
+
+    private String bearer() {
+        return "Bearer " + jwtUtil.generateToken("cook@example.com", "USER");
+    }
+
+    @Test
+    void testBulkWritesRequireToken() throws Exception {
+        mvc.perform(post("/api/recipes/bulk").contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(put("/api/recipes/bulk").contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(delete("/api/recipes/bulk").contentType(MediaType.APPLICATION_JSON).content("[1]"))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(post("/api/recipes/bulk").contentType(MediaType.APPLICATION_JSON).content("[]")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testBulkWritesAcceptValidToken() throws Exception {
+        mvc.perform(delete("/api/recipes/bulk").contentType(MediaType.APPLICATION_JSON).content("[1]")
+                        .header(HttpHeaders.AUTHORIZATION, bearer()))
+                .andExpect(status().isOk());
+        // An empty batch passes security and is rejected by the controller instead
+        mvc.perform(put("/api/recipes/bulk").contentType(MediaType.APPLICATION_JSON).content("[]")
+                        .header(HttpHeaders.AUTHORIZATION, bearer()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testImportRequiresToken() throws Exception {
+        mvc.perform(post("/api/recipes/import").contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(post("/api/recipes/import").contentType(MediaType.APPLICATION_JSON).content("[]")
+                        .header(HttpHeaders.AUTHORIZATION, bearer()))
+                .andExpect(status().is2xxSuccessful());
+    }
+
+    @Test
+    void testPrometheusIsOnlyPublicOnManagementPort() throws Exception {
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(get("/actuator/prometheus").with(request -> {
+                    request.setLocalPort(8081);
+                    return request;
+                }))
+                .andExpect(status().isNotFound()); // past security; the endpoint itself is not in this slice
+    }
+
+    @Test
+    void testSearchIsRateLimitedPerPrincipal() throws Exception {
+        mvc.perform(get("/api/recipes/search").param("title", "soup")
+                        .header(HttpHeaders.AUTHORIZATION, bearer()))
+                .andExpect(status().isOk());
+
+        verify(rateLimiter).acquire("/api/recipes/search", "user:cook@example.com");
+    }
+}
@@ -0,0 +1,88 @@
+package com.ghadynazha.recipeapi;
+
+import com.ghadynazha.recipeapi.model.Recipe;
+import com.ghadynazha.recipeapi.util.SnapshotFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the binary catalog snapshot format.
+ * Verifies round trips, header filtering, and rejection of damaged or uncommitted files.
+ */
+public class SnapshotFileTest {
+
+    @TempDir
+    Path dir;
+
+    private Path writeSample() throws IOException {
+        Path path = dir.resolve("recipes.snapshot");
+        Recipe versioned = new Recipe(1, "Crème Brûlée", List.of("Cream", "Sugar"), "Bake.", 60, "Dessert");
+        versioned.setVersion(3L);
+        versioned.setModifiedAt(1_700_000_000_000L);
+        try (SnapshotFile.Writer writer = SnapshotFile.create(path, 42L, "recipe_api")) {
+            writer.append(versioned);
+            writer.append(new Recipe(2, "Toast", null, "Toast.", 2, null));
+            assertThat(writer.commit()).isEqualTo(2);
+        }
+        return path;
+    }
+
+    @Test
+    void testRoundTripsRecipesAndHeader() throws IOException {
+        List<Recipe> read = new ArrayList<>();
+        SnapshotFile.Info info = SnapshotFile.read(writeSample(), i -> true, read::add);
+
+        assertThat(info).isEqualTo(new SnapshotFile.Info(42L, "recipe_api", 2));
+        assertThat(read.get(0).getTitle()).isEqualTo("Crème Brûlée");
+        assertThat(read.get(0).getIngredients()).containsExactly("Cream", "Sugar");
+        assertThat(read.get(0).getVersion()).isEqualTo(3L);
+        assertThat(read.get(0).getModifiedAt()).isEqualTo(1_700_000_000_000L);
+        assertThat(read.get(1).getIngredients()).isNull();
+        assertThat(read.get(1).getCategory()).isNull();
+        assertThat(read.get(1).getVersion()).isNull();
+    }
+
+    @Test
+    void testRejectedHeaderYieldsNothing() throws IOException {
+        List<Recipe> read = new ArrayList<>();
+        assertThat(SnapshotFile.read(writeSample(), i -> false, read::add)).isNull();
+        assertThat(read).isEmpty();
+    }
+
+    @Test
+    void testDamagedFileFailsChecksum() throws IOException {
+        Path path = writeSample();
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(40);
+            int b = file.read();
+            file.seek(40);
+            file.write(b ^ 0xFF);
+        }
+
+        List<Recipe> read = new ArrayList<>();
+        assertThatThrownBy(() -> SnapshotFile.read(path, i -> true, read::add)).isInstanceOf(IOException.class);
+        assertThat(read).isEmpty();
+    }
+
+    @Test
+    void testUncommittedWriterLeavesNoFile() throws IOException {
+        Path path = dir.resolve("partial.snapshot");
+        try (SnapshotFile.Writer writer = SnapshotFile.create(path, 1L, "recipe_api")) {
+            writer.append(new Recipe(1, "Soup", List.of("Water"), "Boil.", 10, "Soup"));
+        }
+        assertThat(Files.exists(path)).isFalse();
+        try (var files = Files.list(dir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.ghadynazha.recipeapi;
+
+import com.ghadynazha.recipeapi.model.Recipe;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the API with request handling on virtual threads and fails if any of our
+ * code paths pin a carrier thread while blocking (JFR jdk.VirtualThreadPinned).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true")
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+public class VirtualThreadPinningTest {
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    TestRestTemplate rest;
+
+    private String url(String p) {
+        return "http://localhost:" + port + p;
+    }
+
+    @Test
+    void testNoPinningInApplicationCode() throws Exception {
+        List<String> pinnedFrames = new ArrayList<>();
+        Path dump = Files.createTempFile("pinning", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+
+            try (ExecutorService clients = Executors.newFixedThreadPool(32)) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < 32; i++) {
+                    futures.add(clients.submit(() -> {
+                        for (int j = 0; j < 20; j++) {
+                            Recipe created = rest.postForEntity(url("/api/recipes"),
+                                    new Recipe(null, "Pinned " + j, List.of("X"), "None", 5, "VT"), Recipe.class).getBody();
+                            rest.getForEntity(url("/api/recipes/" + created.getId()), Recipe.class);
+                            rest.getForEntity(url("/api/recipes/search?q=pinned"), Recipe[].class);
+                        }
+                    }));
+                }
+                for (Future<?> f : futures) f.get();
+            }
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+            if (event.getStackTrace() == null) continue;
+            for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+                String type = frame.getMethod().getType().getName();
+                if (type.startsWith("com.ghadynazha.recipeapi")) {
+                    pinnedFrames.add(type + "." + frame.getMethod().getName());
+                }
+            }
+        }
+        Files.deleteIfExists(dump);
+
+        assertThat(pinnedFrames).isEmpty();
+    }
+}